@@ -7,26 +7,25 @@ import {
 } from '@nextui-org/react';
 import { Plus } from 'lucide-react';
 import { Link } from 'react-router-dom';
-import { apiService, Post } from '../services/apiService';
+import { apiService, PostSummary } from '../services/apiService';
 import PostList from '../components/PostList';
 
 const DraftsPage: React.FC = () => {
-  const [drafts, setDrafts] = useState<Post[] | null>(null);
+  const [drafts, setDrafts] = useState<PostSummary[] | null>(null);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
-  const [page, setPage] = useState(1);
-  const [sortBy, setSortBy] = useState("updatedAt,desc");
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchDrafts = async () => {
       try {
         setLoading(true);
         const response = await apiService.getDrafts({
-          page: page - 1,
-          size: 10,
-          sort: sortBy,
+          limit: 10,
         });
-        setDrafts(response);
+        setDrafts(response.posts);
+        setNextCursor(response.nextCursor);
         setError(null);
       } catch (err) {
         setError('Failed to load drafts. Please try again later.');
@@ -36,7 +35,24 @@ const DraftsPage: React.FC = () => {
     };
 
     fetchDrafts();
-  }, [page, sortBy]);
+  }, []);
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const response = await apiService.getDrafts({
+        after: nextCursor,
+        limit: 10,
+      });
+      setDrafts((current) => [...(current ?? []), ...response.posts]);
+      setNextCursor(response.nextCursor);
+    } catch (err) {
+      setError('Failed to load more drafts. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   return (
     <div className="max-w-4xl mx-auto px-4">
@@ -64,12 +80,16 @@ const DraftsPage: React.FC = () => {
             posts={drafts}
             loading={loading}
             error={error}
-            page={page}
-            sortBy={sortBy}
-            onPageChange={setPage}
-            onSortChange={setSortBy}
           />
 
+          {nextCursor && !loading && (
+            <div className="flex justify-center mt-4">
+              <Button variant="flat" isLoading={loadingMore} onPress={loadMore}>
+                Load more
+              </Button>
+            </div>
+          )}
+
           {drafts?.length === 0 && !loading && (
             <div className="text-center py-8 text-default-500">
               <p>You don't have any draft posts yet.</p>
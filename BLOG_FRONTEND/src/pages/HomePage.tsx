@@ -5,20 +5,21 @@ import {
   CardBody,
   Tabs, 
   Tab,
+  Button,
 } from '@nextui-org/react';
-import { apiService, Post, Category, Tag } from '../services/apiService';
+import { apiService, PostSummary, Category, Tag } from '../services/apiService';
 import PostList from '../components/PostList';
 
 const HomePage: React.FC = () => {
-  const [posts, setPosts] = useState<Post[] | null>(null);
+  const [posts, setPosts] = useState<PostSummary[] | null>(null);
   const [categories, setCategories] = useState<Category[]>([]);
   const [tags, setTags] = useState<Tag[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
-  const [page, setPage] = useState(1);
-  const [sortBy, setSortBy] = useState("createdAt,desc");
   const [selectedCategory, setSelectedCategory] = useState<string|undefined>(undefined);
   const [selectedTag, setSelectedTag] = useState<string | undefined>(undefined);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     const fetchData = async () => {
@@ -33,7 +34,8 @@ const HomePage: React.FC = () => {
           apiService.getTags()
         ]);
 
-        setPosts(postsResponse);
+        setPosts(postsResponse.posts);
+        setNextCursor(postsResponse.nextCursor);
         setCategories(categoriesResponse);
         setTags(tagsResponse);
         setError(null);
@@ -45,7 +47,25 @@ const HomePage: React.FC = () => {
     };
 
     fetchData();
-  }, [page, sortBy, selectedCategory, selectedTag]);
+  }, [selectedCategory, selectedTag]);
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const postsResponse = await apiService.getPosts({
+        categoryId: selectedCategory,
+        tagId: selectedTag,
+        after: nextCursor
+      });
+      setPosts((current) => [...(current ?? []), ...postsResponse.posts]);
+      setNextCursor(postsResponse.nextCursor);
+    } catch (err) {
+      setError('Failed to load more posts. Please try again later.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   const handleCategoryChange = (categoryId: string|undefined) => {
     setSelectedTag(undefined);
@@ -110,11 +130,15 @@ const HomePage: React.FC = () => {
         posts={posts}
         loading={loading}
         error={error}
-        page={page}
-        sortBy={sortBy}
-        onPageChange={setPage}
-        onSortChange={setSortBy}
       />
+
+      {nextCursor && !loading && (
+        <div className="flex justify-center">
+          <Button variant="flat" isLoading={loadingMore} onPress={loadMore}>
+            Load more
+          </Button>
+        </div>
+      )}
     </div>
   );
 };
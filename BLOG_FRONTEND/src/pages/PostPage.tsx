@@ -1,6 +1,5 @@
 import React, { useEffect, useState } from 'react';
 import { useParams, Link, useNavigate } from 'react-router-dom';
-import DOMPurify from 'dompurify';
 import {
   Card,
   CardHeader,
@@ -94,13 +93,9 @@ const PostPage: React.FC<PostPageProps> = ({
     });
   };
 
-  const createSanitizedHTML = (content: string) => {
-    return {
-      __html: DOMPurify.sanitize(content, {
-        ALLOWED_TAGS: ['p', 'strong', 'em', 'br'],
-        ALLOWED_ATTR: []
-      })
-    };
+  // Sanitized once by the server when the post is saved
+  const createSanitizedHTML = (contentHtml: string) => {
+    return { __html: contentHtml };
   };
 
   if (loading) {
@@ -214,7 +209,7 @@ const PostPage: React.FC<PostPageProps> = ({
         <CardBody>
           <div
             className="prose max-w-none"
-            dangerouslySetInnerHTML={createSanitizedHTML(post.content)}
+            dangerouslySetInnerHTML={createSanitizedHTML(post.contentHtml)}
           />
         </CardBody>
 
@@ -34,6 +34,8 @@ export interface Post {
   id: string;
   title: string;
   content: string;
+  contentHtml: string;
+  wordCount?: number;
   author?: {
     id: string;
     name: string;
@@ -46,6 +48,44 @@ export interface Post {
   status?: PostStatus;
 }
 
+export interface PostSummary {
+  id: string;
+  title: string;
+  excerpt?: string;
+  author?: {
+    id: string;
+    name: string;
+  };
+  category: Category;
+  tags: Tag[];
+  readingTime?: number;
+  createdAt: string;
+  updatedAt: string;
+  postStatus?: PostStatus;
+}
+
+export interface PostPage {
+  posts: PostSummary[];
+  nextCursor: string | null;
+}
+
+export interface SearchHit {
+  id: string;
+  title: string;
+  // HTML-escaped by the server, matches wrapped in <mark>
+  highlightedTitle: string;
+  snippet: string;
+  score: number;
+  createdAt: string;
+}
+
+export interface SearchPage {
+  hits: SearchHit[];
+  total: number;
+  page: number;
+  limit: number;
+}
+
 export interface CreatePostRequest {
   title: string;
   content: string;
@@ -155,11 +195,13 @@ class ApiService {
   public async getPosts(params: {
     categoryId?: string;
     tagId?: string;
-  }): Promise<Post[]> {
+    after?: string;
+    limit?: number;
+  }): Promise<PostPage> {
       const cleanParams = Object.fromEntries(
     Object.entries(params).filter(([_, v]) => v !== undefined)
   );
-    const response: AxiosResponse<Post[]> = await this.api.get('/posts', { params: cleanParams });
+    const response: AxiosResponse<PostPage> = await this.api.get('/posts', { params: cleanParams });
     return response.data;
   }
 
@@ -182,12 +224,20 @@ class ApiService {
     await this.api.delete(`/posts/${id}`);
   }
 
-  public async getDrafts(params: {
+  public async searchPosts(params: {
+    q: string;
     page?: number;
-    size?: number;
-    sort?: string;
-  }): Promise<Post[]> {
-    const response: AxiosResponse<Post[]> = await this.api.get('/posts/drafts', { params });
+    limit?: number;
+  }): Promise<SearchPage> {
+    const response: AxiosResponse<SearchPage> = await this.api.get('/posts/search', { params });
+    return response.data;
+  }
+
+  public async getDrafts(params: {
+    after?: string;
+    limit?: number;
+  }): Promise<PostPage> {
+    const response: AxiosResponse<PostPage> = await this.api.get('/posts/drafts', { params });
     return response.data;
   }
 
@@ -1,31 +1,40 @@
 package com.example.demo.config;
 
 import com.example.demo.repository.Repository_User;
+import com.example.demo.security.BlogPrincipal;
 import com.example.demo.security.BlogUserDetailService;
 import com.example.demo.security.BlogUserDetails;
 import com.example.demo.security.JwtAuthenticationFilter;
 import com.example.demo.security.OAuth2SuccessHandler;
 import com.example.demo.service.Service_Auth_Impl;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 @Configuration
 public class SecurityChain {
 
@@ -57,24 +66,35 @@ public UserDetailsService userDetailsService(Repository_User repository_user){
         return new BlogUserDetailService(repository_user);
 }
     @Bean
-    public SecurityFilterChain securityfilterchain(HttpSecurity http , OAuth2SuccessHandler oauth2SuccessHandler , JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
+    public SecurityFilterChain securityfilterchain(HttpSecurity http , OAuth2SuccessHandler oauth2SuccessHandler , JwtAuthenticationFilter jwtAuthenticationFilter,
+                                                  @Value("${admin.emails:}") Set<String> adminEmails) throws Exception {
         http
                 .cors(cors -> {})   // 🔥 enable CORS
                 .httpBasic(httpBasic -> httpBasic.disable())
                 .formLogin(form -> form.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.POST, "/api/v1/auth", "/api/v1/auth/login", "/api/v1/auth/sync" , "/api/v1/auth/register").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/v1/posts", "/api/v1/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/posts/drafts").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/v1/posts", "/api/v1/posts/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/categories", "/api/v1/categories/**").permitAll()
                         .requestMatchers("/oauth2/**", "/login/oauth2/**").permitAll() // 👈 allow OAuth2 URLs
                         .requestMatchers(HttpMethod.GET, "/api/v1/tags", "/api/v1/tags/**").permitAll()
+                        // Served on the management port only (management.server.port)
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        // No roles in this app yet : admins are the accounts listed in admin.emails
+                        .requestMatchers("/api/v1/admin/**").access((authentication, context) -> new AuthorizationDecision(
+                                authentication.get().getPrincipal() instanceof BlogPrincipal principal
+                                        && adminEmails.contains(principal.getEmail())))
                         .anyRequest().authenticated()
                 )
                 .csrf(csrf -> csrf.disable())
-                .sessionManagement(session ->
-                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-                )  .oauth2Login(oauth2 -> oauth2
+                // Stateless by hand rather than SessionCreationPolicy.STATELESS : setting the policy also adds
+                // SessionManagementFilter, which loads the SecurityContext (and so verifies the bearer token)
+                // on every request, public reads included
+                .securityContext(context -> context
+                        .securityContextRepository(new RequestAttributeSecurityContextRepository())
+                )
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))  .oauth2Login(oauth2 -> oauth2
                         .successHandler(oauth2SuccessHandler)
                 )
                 .exceptionHandling(ex -> ex
@@ -86,9 +106,21 @@ public UserDetailsService userDetailsService(Repository_User repository_user){
         return http.build();
     }
 
+    // Hashes are stored as {id}hash. Logins re-hash anything not in the configured algorithm and cost;
+    // hashes stored before the prefix existed are plain BCrypt
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.algorithm:bcrypt}") String algorithm,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unknown password algorithm : " + algorithm);
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
 @Bean
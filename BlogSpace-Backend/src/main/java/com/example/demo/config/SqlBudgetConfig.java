@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "sql.budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    // Ahead of the security chain, so user lookups made while authenticating count for the request too
+    @Bean
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            @Value("${sql.budget.default:20}") int defaultBudget,
+            @Value("${sql.budget.endpoints:}") String endpoints,
+            @Value("${sql.budget.repeat-threshold:10}") int repeatThreshold,
+            @Value("${sql.budget.strict:false}") boolean strict) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementBudgetFilter(defaultBudget, parseBudgets(endpoints), repeatThreshold, strict));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    // "Controller_Post.getAllPosts=4,Controller_Tag.getAllTags=2"
+    static Map<String, Integer> parseBudgets(String endpoints) {
+        Map<String, Integer> budgets = new HashMap<>();
+        for (String entry : endpoints.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected Controller.method=max in sql.budget.endpoints : " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Integer.parseInt(entry.substring(separator + 1).trim()));
+        }
+        return budgets;
+    }
+}
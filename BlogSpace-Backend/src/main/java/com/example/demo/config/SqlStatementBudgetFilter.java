@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Opens a SqlStatementCounter scope around each request and checks it when the request is done.
+// Over its budget, or with one statement shape repeated repeatThreshold times (the N+1 pattern),
+// the request is reported with its most repeated shape : a warning, or an exception in strict mode.
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final int defaultBudget;
+    private final Map<String, Integer> budgets;
+    private final int repeatThreshold;
+    private final boolean strict;
+
+    public SqlStatementBudgetFilter(int defaultBudget, Map<String, Integer> budgets, int repeatThreshold, boolean strict) {
+        this.defaultBudget = defaultBudget;
+        this.budgets = Map.copyOf(budgets);
+        this.repeatThreshold = repeatThreshold;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementCounter.begin();
+        Map<String, Integer> shapes;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            shapes = SqlStatementCounter.end();
+        }
+        check(request, shapes);
+    }
+
+    private void check(HttpServletRequest request, Map<String, Integer> shapes) {
+        if (shapes.isEmpty()) {
+            return;
+        }
+        int total = 0;
+        Map.Entry<String, Integer> mostRepeated = null;
+        for (Map.Entry<String, Integer> shape : shapes.entrySet()) {
+            total += shape.getValue();
+            if (mostRepeated == null || shape.getValue() > mostRepeated.getValue()) {
+                mostRepeated = shape;
+            }
+        }
+        String endpoint = endpoint(request);
+        int budget = budgets.getOrDefault(endpoint, defaultBudget);
+        boolean overBudget = total > budget;
+        boolean repeated = mostRepeated.getValue() >= repeatThreshold;
+        if (!overBudget && !repeated) {
+            return;
+        }
+        String message = "%s ran %d SQL statements (budget %d)%s; most repeated, %d times : %s".formatted(
+                endpoint, total, budget, repeated ? ", likely N+1" : "", mostRepeated.getValue(), mostRepeated.getKey());
+        if (strict) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    // Budgets are keyed by Controller.method; requests no controller served fall back to method and path
+    private static String endpoint(HttpServletRequest request) {
+        String handler = MetricsConfig.handlerName(request);
+        return handler != null ? handler : request.getMethod() + " " + request.getRequestURI();
+    }
+}
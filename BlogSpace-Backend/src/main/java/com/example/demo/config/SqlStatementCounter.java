@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Hibernate's StatementInspector : counts the statements prepared on the current thread while a
+// request scope is open, grouped by shape (literals and IN-lists folded), and leaves the SQL as is.
+// JdbcTemplate statements and work handed to other threads are not seen.
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Map<String, Integer>> SHAPES = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    static void begin() {
+        SHAPES.set(new HashMap<>());
+    }
+
+    // Shape -> statements run, for the scope being closed
+    static Map<String, Integer> end() {
+        Map<String, Integer> shapes = SHAPES.get();
+        SHAPES.remove();
+        return shapes == null ? Map.of() : shapes;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> shapes = SHAPES.get();
+        if (shapes != null) {
+            shapes.merge(shape(sql), 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    static String shape(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?, ...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.controller;
+
+import com.example.demo.security.PasswordHashing;
+import com.example.demo.service.Service_Auth;
+import com.example.demo.service.Service_Export;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class Controller_Admin {
+
+    private final Service_Export service_export;
+    private final PasswordHashing passwordHashing;
+    private final Service_Auth service_auth;
+
+    // gzip'd JSON lines of users (public fields), categories, tags, posts and post/tag links
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        String filename = "blogspace-export-" + LocalDate.now() + ".jsonl.gz";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(service_export::export);
+    }
+
+    // Queue depth and latency of the login / register hashing pool
+    @GetMapping("/metrics/password-hashing")
+    public ResponseEntity<PasswordHashing.Stats> passwordHashingStats() {
+        return ResponseEntity.ok(passwordHashing.stats());
+    }
+
+    // Cuts off a token by its id (jti) before it expires, e.g. one reported as leaked
+    @PostMapping("/tokens/{jti}/revoke")
+    public ResponseEntity<Void> revokeToken(@PathVariable String jti) {
+        service_auth.revokeTokenId(jti);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -3,11 +3,14 @@ package com.example.demo.controller;
 import com.example.demo.domain.dtos.AuthResponse;
 import com.example.demo.domain.dtos.loginRequest;
 import com.example.demo.service.Service_Auth;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,10 +22,11 @@ public class Controller_Auth {
     private final Service_Auth service_auth;
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@RequestBody loginRequest userDetails){
+    public ResponseEntity<AuthResponse> login(@RequestBody loginRequest userDetails, HttpServletRequest request){
         UserDetails user = service_auth.authenticate(
                 userDetails.getEmail(),
-                userDetails.getPassword()
+                userDetails.getPassword(),
+                request.getRemoteAddr()
         );
         String tokenValue = service_auth.generateToken(user);
 
@@ -34,13 +38,24 @@ public class Controller_Auth {
     }
 
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization){
+        if (!authorization.startsWith("Bearer ")) {
+            throw new IllegalArgumentException("Bearer token required");
+        }
+        service_auth.revokeToken(authorization.substring("Bearer ".length()));
+        return ResponseEntity.noContent().build();
+    }
+
+
     @PostMapping("/register")
-    public ResponseEntity<?> register(@RequestBody loginRequest request){
+    public ResponseEntity<?> register(@RequestBody loginRequest request, HttpServletRequest httpRequest){
 
         service_auth.register(
                 request.getEmail(),
                 request.getPassword(),
-                request.getUsername()
+                request.getUsername(),
+                httpRequest.getRemoteAddr()
         );
 
         return ResponseEntity.ok("User registered successfully");
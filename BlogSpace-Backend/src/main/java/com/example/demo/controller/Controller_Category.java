@@ -4,12 +4,15 @@ import com.example.demo.domain.dtos.Dto_Category;
 import com.example.demo.domain.dtos.Dto_CreateCategory;
 import com.example.demo.domain.entity.Entity_Category;
 import com.example.demo.domain.mappers.Category_Mapper;
+import com.example.demo.service.ContentVersions;
+import com.example.demo.service.ContentVersions.Kind;
 import com.example.demo.service.Service_Category;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,13 +24,19 @@ public class Controller_Category {
 
     private final Service_Category serviceCategory;
     private final Category_Mapper category_mapper;
+    private final ContentVersions contentVersions;
 
     @GetMapping
-    public ResponseEntity<List<Dto_Category>> categoryList() {
-        List<Dto_Category> categories = serviceCategory.listCategories()
-                .stream().map(category_mapper::toDto)
-                .toList();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<Dto_Category>> categoryList(ServletWebRequest webRequest) {
+        // Published counts move with posts, so both collections take part in the validator
+        String etag = "\"categories-" + contentVersions.stamp(Kind.CATEGORIES, Kind.POSTS) + "\"";
+        long lastModified = contentVersions.lastModified(Kind.CATEGORIES, Kind.POSTS);
+        return HttpCaching.conditional(webRequest, etag, lastModified, "categories posts", () -> {
+            List<Dto_Category> categories = serviceCategory.listCategories()
+                    .stream().map(category_mapper::toDto)
+                    .toList();
+            return ResponseEntity.ok(categories);
+        });
     }
 
     @PutMapping("/{id}")
@@ -1,11 +1,15 @@
 package com.example.demo.controller;
 
 import com.example.demo.domain.dtos.Dto_Error;
+import com.example.demo.security.TooManyRequestsException;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -42,6 +46,20 @@ public class Controller_Error {
 
 
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Dto_Error> handlesIllegalArgumentException(IllegalArgumentException ex){
+        log.error(ex.getMessage(),ex);
+
+        Dto_Error error = Dto_Error.builder()
+                .message(ex.getMessage())
+                .status((HttpStatus.BAD_REQUEST.value()))
+                .build();
+
+        return new ResponseEntity<>(error , HttpStatus.BAD_REQUEST);
+    }
+
+
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<Dto_Error> handlesIllegalStateException(IllegalStateException ex){
         log.error(ex.getMessage(),ex);
@@ -69,6 +87,51 @@ public class Controller_Error {
 
 
 
+    // Thrown by controllers checking the caller themselves; the catch-all above would otherwise make them 500s
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Dto_Error> handlesAuthenticationException(AuthenticationException ex){
+        log.warn(ex.getMessage());
+
+        Dto_Error error = Dto_Error.builder()
+                .message(ex.getMessage())
+                .status((HttpStatus.UNAUTHORIZED.value()))
+                .build();
+
+        return new ResponseEntity<>(error , HttpStatus.UNAUTHORIZED);
+    }
+
+
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Dto_Error> handlesAccessDeniedException(AccessDeniedException ex){
+        log.warn(ex.getMessage());
+
+        Dto_Error error = Dto_Error.builder()
+                .message(ex.getMessage())
+                .status((HttpStatus.FORBIDDEN.value()))
+                .build();
+
+        return new ResponseEntity<>(error , HttpStatus.FORBIDDEN);
+    }
+
+
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Dto_Error> handlesTooManyRequestsException(TooManyRequestsException ex){
+        log.warn(ex.getMessage());
+
+        Dto_Error error = Dto_Error.builder()
+                .message(ex.getMessage())
+                .status((HttpStatus.TOO_MANY_REQUESTS.value()))
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Dto_Error> handlesEntityNotFoundException(EntityNotFoundException ex){
         log.error(ex.getMessage(),ex);
@@ -1,25 +1,58 @@
 package com.example.demo.controller;
 
 import com.example.demo.domain.CreatePostRequest;
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.PostCursor;
+import com.example.demo.domain.PostFilter;
 import com.example.demo.domain.UpdatePostRequest;
 import com.example.demo.domain.dtos.Create_Post_Dto;
+import com.example.demo.domain.dtos.Dto_ImportReport;
+import com.example.demo.domain.dtos.Dto_PostPage;
+import com.example.demo.domain.dtos.Dto_PostSummary;
+import com.example.demo.domain.dtos.Dto_SearchPage;
 import com.example.demo.domain.dtos.Dto_Posts;
 import com.example.demo.domain.dtos.Update_Post_Dto;
 import com.example.demo.domain.entity.Entity_Post;
 import com.example.demo.domain.entity.Entity_User;
 import com.example.demo.domain.mappers.PostMapper;
 import com.example.demo.repository.Repository_User;
+import com.example.demo.security.BlogPrincipal;
+import com.example.demo.service.ContentVersions;
+import com.example.demo.service.ContentVersions.Kind;
+import com.example.demo.service.FeedPage;
+import com.example.demo.service.FeedPageCache;
+import com.example.demo.service.FeedStreams;
+import com.example.demo.service.PostDetail;
+import com.example.demo.service.Service_Import;
 import com.example.demo.service.Service_Posts;
 import com.example.demo.service.Service_User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -28,56 +61,153 @@ import java.util.UUID;
 public class Controller_Post {
 
     private final Service_Posts postService;
+    private final Service_Import importService;
     private final PostMapper postMapper;
     private final Service_User serviceuser;
     private final Repository_User repository_user;
+    private final ContentVersions contentVersions;
+    private final FeedPageCache feedPageCache;
+    private final FeedStreams feedStreams;
+    private final ObjectMapper objectMapper;
 
-    // Helper to get Entity_User from the JWT principal
-    private Entity_User getLoggedInUser(UserDetails userDetails) {
-        return repository_user.findByEmail(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("Authenticated user not found in DB"));
+    // Writes only need the author's id, so a reference proxy is enough : no user-table read
+    private Entity_User getLoggedInUser(BlogPrincipal principal) {
+        return repository_user.getReferenceById(principal.getId());
     }
 
+    // Trims the look-ahead row and turns the last returned post into the next cursor
+    private Dto_PostPage toPage(List<Dto_PostSummary> posts, int pageSize) {
+        boolean hasNext = posts.size() > pageSize;
+        List<Dto_PostSummary> page = hasNext ? posts.subList(0, pageSize) : posts;
+        String nextCursor = null;
+        if (hasNext) {
+            Dto_PostSummary last = page.get(page.size() - 1);
+            nextCursor = new PostCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return Dto_PostPage.builder()
+                .posts(page)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Drafts are only listed to their author, uncached
     @GetMapping
-    public ResponseEntity<List<Dto_Posts>> getAllPosts(
+    public ResponseEntity<byte[]> getAllPosts(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) Set<UUID> tagId,
+            @RequestParam(defaultValue = "ALL") PostFilter.TagMatch tagMatch,
+            @RequestParam(required = false) UUID authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "PUBLISHED") Enum_Post status,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            ServletWebRequest webRequest) throws IOException {
+        int pageSize = Service_Posts.pageSize(limit);
+        PostCursor cursor = PostCursor.decode(after);
+        PostFilter filter = filter(categoryId, tagId, tagMatch, authorId, from, to, status);
+
+        if (status != Enum_Post.PUBLISHED) {
+            requireDraftAuthor(authorId);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(objectMapper.writeValueAsBytes(
+                            toPage(postService.getAllPosts(filter, cursor, pageSize), pageSize)));
+        }
+
+        String key = filter.key() + "|" + (after == null ? "" : after) + "|" + pageSize;
+        FeedPage page = feedPageCache.get(key,
+                () -> toPage(postService.getAllPosts(filter, cursor, pageSize), pageSize));
+
+        // Validators describe the copy being served, which may be a stale one under refresh
+        String etag = "\"feed-" + page.getStamp() + "\"";
+        StringBuilder surrogateKeys = new StringBuilder("posts");
+        if (categoryId != null) {
+            surrogateKeys.append(" category-").append(categoryId);
+        }
+        for (UUID id : filter.getTagIds()) {
+            surrogateKeys.append(" tag-").append(id);
+        }
+        return HttpCaching.conditional(webRequest, etag, page.getLastModified(), surrogateKeys.toString(),
+                () -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(page.getJson()));
+    }
+
+    // Same feed, same criteria, as one application/x-ndjson stream of full posts, for signed-in API consumers
+    // that want everything
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamPosts(
             @RequestParam(required = false) UUID categoryId,
-            @RequestParam(required = false) UUID tagId) {
-        List<Entity_Post> posts = postService.getAllPosts(categoryId, tagId);
-        List<Dto_Posts> postDtos = posts.stream().map(postMapper::toDto).toList();
-        return ResponseEntity.ok(postDtos);
+            @RequestParam(required = false) Set<UUID> tagId,
+            @RequestParam(defaultValue = "ALL") PostFilter.TagMatch tagMatch,
+            @RequestParam(required = false) UUID authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "PUBLISHED") Enum_Post status) {
+        PostFilter filter = filter(categoryId, tagId, tagMatch, authorId, from, to, status);
+        if (currentPrincipal() == null) {
+            throw new AuthenticationCredentialsNotFoundException("Sign in to stream the feed");
+        }
+        if (status != Enum_Post.PUBLISHED) {
+            requireDraftAuthor(authorId);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(feedStreams.open(filter));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Dto_SearchPage> searchPosts(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer limit) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative : " + page);
+        }
+        return ResponseEntity.ok(postService.searchPosts(q, page, Service_Posts.pageSize(limit)));
     }
 
     @GetMapping("/drafts")
-    public ResponseEntity<List<Dto_Posts>> getAllDrafts(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Entity_User loggedIn = getLoggedInUser(userDetails);
-        List<Entity_Post> draftPosts = postService.getDraftsPosts(loggedIn);
-        List<Dto_Posts> postDtos = draftPosts.stream().map(postMapper::toDto).toList();
-        return ResponseEntity.ok(postDtos);
+    public ResponseEntity<Dto_PostPage> getAllDrafts(
+            @AuthenticationPrincipal BlogPrincipal principal,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        int pageSize = Service_Posts.pageSize(limit);
+        List<Dto_PostSummary> draftPosts = postService.getDraftsPosts(principal.getId(), PostCursor.decode(after), pageSize);
+        return ResponseEntity.ok(toPage(draftPosts, pageSize));
     }
 
     @PostMapping
     public ResponseEntity<Dto_Posts> post(
             @RequestBody Create_Post_Dto createpostdto,
-            @AuthenticationPrincipal UserDetails userDetails) {
-        Entity_User loggedInUser = getLoggedInUser(userDetails);
+            @AuthenticationPrincipal BlogPrincipal principal) {
+        Entity_User loggedInUser = getLoggedInUser(principal);
         CreatePostRequest createpost = postMapper.tocreatpostrequest(createpostdto);
         Entity_Post createdPost = postService.createPost(loggedInUser, createpost);
         Dto_Posts createdPostDto = postMapper.toDto(createdPost);
         return new ResponseEntity<>(createdPostDto, HttpStatus.CREATED);
     }
 
+    // Migration of an existing blog : one post per JSON line, all authored by the caller
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<Dto_ImportReport> importPosts(
+            InputStream body,
+            @AuthenticationPrincipal BlogPrincipal principal) throws IOException {
+        return ResponseEntity.ok(importService.importPosts(principal.getId(), body));
+    }
+
     @PutMapping(path = "/{id}")
     public ResponseEntity<?> updatePost(
             @PathVariable UUID id,
             @Valid @RequestBody Update_Post_Dto updatePostDto,
-            @AuthenticationPrincipal UserDetails userDetails) { // 👈 added userDetails
+            @AuthenticationPrincipal BlogPrincipal principal) { // 👈 added principal
 
-        Entity_User loggedInUser = getLoggedInUser(userDetails);
         Entity_Post existingPost = postService.getPost(id);
 
         // ✅ Check ownership — only the author can edit
-        if (!existingPost.getAuthor().getId().equals(loggedInUser.getId())) {
+        if (!existingPost.getAuthor().getId().equals(principal.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("You are not allowed to edit this post");
         }
@@ -89,22 +219,31 @@ public class Controller_Post {
     }
 
     @GetMapping(path = "/{id}")
-    public ResponseEntity<Dto_Posts> getPost(@PathVariable UUID id) {
-        Entity_Post post = postService.getPost(id);
-        Dto_Posts postDto = postMapper.toDto(post);
-        return ResponseEntity.ok(postDto);
+    public ResponseEntity<Resource> getPost(@PathVariable UUID id, ServletWebRequest webRequest) {
+        PostDetail detail = postService.getPostDetail(id);
+        // Category renames do not touch updatedAt, so the categories stamp is part of the validator
+        String etag = "\"post-" + id + "-" + detail.getUpdatedAt().toString()
+                + "-" + contentVersions.stamp(Kind.CATEGORIES) + "\"";
+        long lastModified = detail.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return HttpCaching.conditional(webRequest, etag, lastModified, detail.getSurrogateKeys(), () -> {
+            // Streams the cached JSON straight from the direct buffer, no heap copy of the body
+            ByteBuffer json = detail.getJson();
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(json.remaining())
+                    .body(new InputStreamResource(new ByteBufferBackedInputStream(json)));
+        });
     }
 
     @DeleteMapping(path = "/{id}")
     public ResponseEntity<?> deletePost(
             @PathVariable UUID id,
-            @AuthenticationPrincipal UserDetails userDetails) { // 👈 added userDetails
+            @AuthenticationPrincipal BlogPrincipal principal) { // 👈 added principal
 
-        Entity_User loggedInUser = getLoggedInUser(userDetails);
         Entity_Post existingPost = postService.getPost(id);
 
         // ✅ Check ownership — only the author can delete
-        if (!existingPost.getAuthor().getId().equals(loggedInUser.getId())) {
+        if (!existingPost.getAuthor().getId().equals(principal.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("You are not allowed to delete this post");
         }
@@ -112,4 +251,36 @@ public class Controller_Post {
         postService.deletePost(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Criteria combine with AND; tagId may repeat, tagMatch=ANY relaxes the tags to OR
+    private static PostFilter filter(UUID categoryId, Set<UUID> tagId, PostFilter.TagMatch tagMatch, UUID authorId,
+                                     LocalDateTime from, LocalDateTime to, Enum_Post status) {
+        PostFilter filter = PostFilter.builder()
+                .categoryId(categoryId)
+                .tagIds(tagId == null ? Set.of() : tagId)
+                .tagMatch(tagMatch)
+                .authorId(authorId)
+                .from(from)
+                .to(to)
+                .status(status)
+                .build();
+        filter.validate();
+        return filter;
+    }
+
+    // Drafts are only listed to their author; looked up here only, so the published feed never verifies a bearer token
+    private static void requireDraftAuthor(UUID authorId) {
+        BlogPrincipal principal = currentPrincipal();
+        if (principal == null) {
+            throw new AuthenticationCredentialsNotFoundException("Sign in to list drafts");
+        }
+        if (!principal.getId().equals(authorId)) {
+            throw new AccessDeniedException("Drafts are only listed for their own author");
+        }
+    }
+
+    private static BlogPrincipal currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof BlogPrincipal principal ? principal : null;
+    }
+}
@@ -2,12 +2,10 @@ package com.example.demo.controller;
 
 import com.example.demo.domain.entity.Entity_User;
 import com.example.demo.repository.Repository_User;
-import com.example.demo.security.BlogUserDetails;
+import com.example.demo.security.BlogPrincipal;
 import com.example.demo.service.Service_Auth_Impl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -30,9 +28,9 @@ public class Controller_Sync {
 
         try {
             // Use your existing token validation service
-            UserDetails userDetails = service_auth.validateToken(token);
+            BlogPrincipal principal = (BlogPrincipal) service_auth.validateToken(token);
 
-            Entity_User user = repository_user.findByEmail(userDetails.getUsername())
+            Entity_User user = repository_user.findById(principal.getId())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
             return ResponseEntity.ok(Map.of(
@@ -2,14 +2,17 @@ package com.example.demo.controller;
 
 import com.example.demo.domain.dtos.CreateTag_Request;
 import com.example.demo.domain.dtos.Dto_Tag;
-import com.example.demo.domain.entity.Entity_Tags;
 import com.example.demo.domain.mappers.TagMapper;
+import com.example.demo.domain.projections.NamedPostCount;
+import com.example.demo.service.ContentVersions;
+import com.example.demo.service.ContentVersions.Kind;
 import com.example.demo.service.Tag_Service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,18 +26,23 @@ public class Controller_Tag {
     private final Tag_Service tagService;
 
     private final TagMapper tagMapper;
+    private final ContentVersions contentVersions;
 
     @GetMapping
-    public ResponseEntity<List<Dto_Tag>> getAllTags() {
-        List<Entity_Tags> tags = tagService.getTags();
-        List<Dto_Tag> tagResponses = tags.stream().map(tagMapper::toTagResponse).toList();
-        return ResponseEntity.ok(tagResponses);
+    public ResponseEntity<List<Dto_Tag>> getAllTags(ServletWebRequest webRequest) {
+        String etag = "\"tags-" + contentVersions.stamp(Kind.TAGS, Kind.POSTS) + "\"";
+        long lastModified = contentVersions.lastModified(Kind.TAGS, Kind.POSTS);
+        return HttpCaching.conditional(webRequest, etag, lastModified, "tags posts", () -> {
+            List<NamedPostCount> tags = tagService.getTags();
+            List<Dto_Tag> tagResponses = tags.stream().map(tagMapper::toTagResponse).toList();
+            return ResponseEntity.ok(tagResponses);
+        });
     }
 
 
     @PostMapping
     public ResponseEntity<List<Dto_Tag>> createTags(@RequestBody CreateTag_Request createtagrequest) {
-        List<Entity_Tags> savedTags = tagService.createTags(createtagrequest.getNames());
+        List<NamedPostCount> savedTags = tagService.createTags(createtagrequest.getNames());
         List<Dto_Tag> createdTagResponses = savedTags.stream().map(tagMapper::toTagResponse).toList();
         return new ResponseEntity<>(
                 createdTagResponses,
@@ -0,0 +1,40 @@
+package com.example.demo.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+// Conditional GET for the public read endpoints. Validators are checked before the body supplier
+// runs, so a 304 costs no query, mapping or serialization.
+final class HttpCaching {
+
+    static final String SURROGATE_KEY = "Surrogate-Key";
+
+    // Browsers revalidate every time; shared caches may keep a copy and are purged by surrogate key
+    private static final CacheControl PUBLIC_REVALIDATE = CacheControl.maxAge(Duration.ZERO)
+            .mustRevalidate()
+            .cachePublic()
+            .sMaxAge(Duration.ofSeconds(60));
+
+    private HttpCaching() {
+    }
+
+    static <T> ResponseEntity<T> conditional(ServletWebRequest request, String etag, long lastModified,
+                                             String surrogateKeys, Supplier<ResponseEntity<T>> body) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, PUBLIC_REVALIDATE.getHeaderValue());
+            response.setHeader(SURROGATE_KEY, surrogateKeys);
+        }
+        // Writes ETag / Last-Modified and, when the client copy is current, the 304 status
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return body.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+// Position in a feed ordered by (createdAt DESC, id DESC). Handed to clients as an opaque string.
+@Data
+@AllArgsConstructor
+public class PostCursor {
+
+    // Sorts after every real row, so the first page uses the same seek query as the rest
+    private static final PostCursor START = new PostCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+
+    private LocalDateTime createdAt;
+    private UUID id;
+
+    public static PostCursor start() {
+        return START;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new PostCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor : " + cursor);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+// Feed criteria, all optional and combined with AND. Every filter is an id or a column value,
+// so the whole feed page is one query however many criteria are set.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PostFilter {
+
+    public static final int MAX_TAGS = 10;
+
+    // ALL : posts carrying every tag; ANY : posts carrying at least one
+    public enum TagMatch { ALL, ANY }
+
+    private UUID categoryId;
+    private UUID authorId;
+
+    @Builder.Default
+    private Set<UUID> tagIds = Set.of();
+
+    @Builder.Default
+    private TagMatch tagMatch = TagMatch.ALL;
+
+    // createdAt in [from, to)
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Builder.Default
+    private Enum_Post status = Enum_Post.PUBLISHED;
+
+    public void validate() {
+        if (tagIds.size() > MAX_TAGS) {
+            throw new IllegalArgumentException("Maximum " + MAX_TAGS + " tags allowed");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    // Stable whatever order the tag ids came in
+    public String key() {
+        return categoryId + "|" + authorId + "|" + new TreeSet<>(tagIds) + "|" + tagMatch
+                + "|" + from + "|" + to + "|" + status;
+    }
+}
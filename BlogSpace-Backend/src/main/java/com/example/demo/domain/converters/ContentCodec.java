@@ -0,0 +1,99 @@
+package com.example.demo.domain.converters;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Compressed form of post content (the content_compressed bytea column) : one version byte, then the body
+//   1  raw deflate of the UTF-8 text
+// Posts that are not compressed keep their text in the TEXT content column and null here, so the
+// column stays readable as plain text whenever compression is off.
+public final class ContentCodec {
+
+    public static final byte DEFLATE = 1;
+
+    private ContentCodec() {
+    }
+
+    // Null when the content is shorter than minBytes of UTF-8 or would not end up smaller
+    public static byte[] compress(String content, int minBytes, int level) {
+        if (content == null) {
+            return null;
+        }
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < minBytes) {
+            return null;
+        }
+        byte[] deflated = deflate(bytes, level);
+        if (deflated.length + 1 >= bytes.length) {
+            return null;
+        }
+        return withVersion(DEFLATE, deflated);
+    }
+
+    // The text column as stored when compressed is null, otherwise the inflated body
+    public static String decode(String text, byte[] compressed) {
+        if (compressed == null) {
+            return text;
+        }
+        if (compressed.length == 0) {
+            throw new IllegalStateException("Compressed content has no version byte");
+        }
+        if (compressed[0] != DEFLATE) {
+            throw new IllegalStateException("Unknown content encoding version : " + compressed[0]);
+        }
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] withVersion(byte version, byte[] body) {
+        byte[] stored = new byte[body.length + 1];
+        stored[0] = version;
+        System.arraycopy(body, 0, stored, 1, body.length);
+        return stored;
+    }
+
+    private static byte[] deflate(byte[] input, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    // Inflates everything after the version byte
+    private static byte[] inflate(byte[] stored) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, 1, stored.length - 1);
+            // Prose deflates to roughly a third, so this rarely has to grow
+            byte[] out = new byte[stored.length * 4 + 64];
+            int size = 0;
+            while (!inflater.finished()) {
+                if (size == out.length) {
+                    out = Arrays.copyOf(out, out.length * 2);
+                }
+                int read = inflater.inflate(out, size, out.length - size);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed content");
+                }
+                size += read;
+            }
+            return size == out.length ? out : Arrays.copyOf(out, size);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
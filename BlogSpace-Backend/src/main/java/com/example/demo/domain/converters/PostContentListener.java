@@ -0,0 +1,33 @@
+package com.example.demo.domain.converters;
+
+import com.example.demo.domain.entity.Entity_Post;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Value;
+
+// Opt-in compression of Entity_Post.content. Writes split the text over the content / content_compressed
+// columns, reads always understand both, so rows written either way coexist.
+public class PostContentListener {
+
+    @Value("${posts.content-compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${posts.content-compression.min-bytes:1024}")
+    private int minBytes;
+
+    @Value("${posts.content-compression.level:1}")
+    private int level;
+
+    @PrePersist
+    @PreUpdate
+    public void store(Entity_Post post) {
+        byte[] compressed = enabled ? ContentCodec.compress(post.getContent(), minBytes, level) : null;
+        post.storeContent(compressed == null ? post.getContent() : "", compressed);
+    }
+
+    @PostLoad
+    public void load(Entity_Post post) {
+        post.loadContent();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.domain.dtos;
+
+import com.example.demo.domain.Enum_Post;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+// One line of a bulk import : category and tags are given by name, createdAt keeps the original date
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class Dto_ImportPost {
+    private String title;
+    private String content;
+    private String category;
+
+    @Builder.Default
+    private Set<String> tags = new HashSet<>();
+
+    private Enum_Post status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.example.demo.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Dto_ImportReport {
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private List<ImportError> errors;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ImportError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Dto_PostPage {
+    private List<Dto_PostSummary> posts;
+    private String nextCursor;
+}
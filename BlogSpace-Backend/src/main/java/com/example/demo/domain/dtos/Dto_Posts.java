@@ -15,6 +15,9 @@ public class Dto_Posts {
     private UUID id;
     private String title;
     private String content;
+    // Server-sanitized copy of content, safe to render as HTML
+    private String contentHtml;
+    private Integer wordCount ;
     private Dto_Author author ;
     private Dto_Category category;
     private Set<Dto_Tag> tags;
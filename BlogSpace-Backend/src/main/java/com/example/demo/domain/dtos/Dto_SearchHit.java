@@ -0,0 +1,23 @@
+package com.example.demo.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Dto_SearchHit {
+    private UUID id;
+    private String title;
+    // HTML-escaped, with matched terms wrapped in <mark>
+    private String highlightedTitle;
+    private String snippet;
+    private float score;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Dto_SearchPage {
+    private List<Dto_SearchHit> hits;
+    private int total;
+    private int page;
+    private int limit;
+}
@@ -0,0 +1,25 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Shared version counter of one public collection (posts, categories, tags), see ContentVersions
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name="Content_Versions_Table")
+public class Entity_ContentVersion {
+    @Id
+    @Column(length = 16)
+    private String kind;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Epoch ms of the latest bump, for Last-Modified
+    @Column(nullable = false)
+    private long modifiedAt;
+}
@@ -1,8 +1,11 @@
 package com.example.demo.domain.entity;
 
 import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.converters.ContentCodec;
+import com.example.demo.domain.converters.PostContentListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -11,12 +14,17 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(PostContentListener.class)
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Getter
 @Setter
 @Builder
-@Table(name="Posts_Table")
+@Table(name="Posts_Table", indexes = {
+        @Index(name = "idx_posts_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_posts_author_status_created", columnList = "author_id, status, created_at, id"),
+        @Index(name = "idx_posts_category_status_created", columnList = "column_id, status, created_at, id")
+})
 public class Entity_Post {
 
     @Id
@@ -26,9 +34,36 @@ public class Entity_Post {
     @Column(nullable = false)
     private String title ;
 
-    @Column(nullable = false, columnDefinition="TEXT")
+    // What callers read and write; stored through the two columns below by PostContentListener
+    @Transient
     private String content ;
 
+    // The text, or empty while the post is held compressed in contentCompressed
+    @Column(name = "content", nullable = false, columnDefinition="TEXT")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private String storedContent ;
+
+    // Null unless compression is on and paid off for this post, see ContentCodec
+    @Column(columnDefinition="bytea")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private byte[] contentCompressed ;
+
+    @Column(length = 300)
+    private String excerpt ;
+
+    // Derived by ContentAnalyzer on every save; null until the backfill reaches older rows
+    @Column(columnDefinition="TEXT")
+    private String contentHtml ;
+
+    private Integer wordCount ;
+
+    @Column(length = 64)
+    private String contentHash ;
+
+    private Integer analysisVersion ;
+
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private Enum_Post status ;
@@ -42,10 +77,13 @@ public class Entity_Post {
     private Entity_Category category ;
 
     @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name="post_tags",
             joinColumns = @JoinColumn(name="post_id"),
-            inverseJoinColumns = @JoinColumn(name="tag_id")
+            inverseJoinColumns = @JoinColumn(name="tag_id"),
+            // The primary key leads with post_id; tag filters and tag counts start from the tag
+            indexes = @Index(name = "idx_post_tags_tag_post", columnList = "tag_id, post_id")
     )
     private Set<Entity_Tags> tags = new HashSet<>();
 
@@ -70,11 +108,16 @@ public class Entity_Post {
         return Objects.hash(id, title, content, status, readingTime, createdAt, updatedAt);
     }
 
+    // Imported posts arrive with their original dates, which are kept
     @PrePersist
     protected void onCreate(){
         LocalDateTime now = LocalDateTime.now();
-        this.createdAt = now;
-        this.updatedAt = now;
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = this.createdAt;
+        }
     }
 
     @PreUpdate
@@ -82,6 +125,24 @@ public class Entity_Post {
         this.updatedAt = LocalDateTime.now();
     }
 
+    // Content is transient, so a change also resets the stored columns for Hibernate to see it dirty
+    public void setContent(String content) {
+        if (!Objects.equals(this.content, content)) {
+            this.content = content;
+            this.storedContent = content;
+            this.contentCompressed = null;
+        }
+    }
+
+    public void storeContent(String storedContent, byte[] contentCompressed) {
+        this.storedContent = storedContent;
+        this.contentCompressed = contentCompressed;
+    }
+
+    public void loadContent() {
+        this.content = ContentCodec.decode(storedContent, contentCompressed);
+    }
+
 
 
 }
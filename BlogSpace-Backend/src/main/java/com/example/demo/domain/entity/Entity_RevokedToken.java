@@ -0,0 +1,25 @@
+package com.example.demo.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Token id (jti) revoked before its expiry. Only read at startup; the request path checks memory
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+@Table(name="Revoked_Tokens_Table", indexes = {
+        @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at")
+})
+public class Entity_RevokedToken {
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -5,6 +5,7 @@ import com.example.demo.domain.dtos.Dto_Category;
 import com.example.demo.domain.dtos.Dto_CreateCategory;
 import com.example.demo.domain.entity.Entity_Category;
 import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.projections.NamedPostCount;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -18,6 +19,8 @@ public interface Category_Mapper {
     @Mapping(target = "postCount", source="posts", qualifiedByName = "calculatePostCount")
     Dto_Category toDto(Entity_Category category);
 
+    Dto_Category toDto(NamedPostCount category);
+
     Entity_Category toEntity(Dto_CreateCategory dto_createCategory);
 
     @Named("calculatePostCount")
@@ -3,9 +3,13 @@ package com.example.demo.domain.mappers;
 import com.example.demo.domain.CreatePostRequest;
 import com.example.demo.domain.UpdatePostRequest;
 import com.example.demo.domain.dtos.Create_Post_Dto;
+import com.example.demo.domain.dtos.Dto_PostSummary;
 import com.example.demo.domain.dtos.Dto_Posts;
+import com.example.demo.domain.dtos.Dto_Tag;
 import com.example.demo.domain.dtos.Update_Post_Dto;
 import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.projections.PostSummary;
+import com.example.demo.domain.projections.PostTagRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
@@ -19,6 +23,21 @@ public interface PostMapper {
     @Mapping(target="tags" , source="tags")
     Dto_Posts toDto(Entity_Post post);
 
+    // For callers that load tags for many posts at once
+    @Mapping(target = "author.name", source = "author.username")
+    @Mapping(target = "tags", ignore = true)
+    Dto_Posts toDtoWithoutTags(Entity_Post post);
+
+    @Mapping(target = "author.id", source = "authorId")
+    @Mapping(target = "author.name", source = "authorName")
+    @Mapping(target = "category.id", source = "categoryId")
+    @Mapping(target = "category.name", source = "categoryName")
+    @Mapping(target = "postStatus", source = "status")
+    @Mapping(target = "tags", ignore = true)
+    Dto_PostSummary toSummary(PostSummary summary);
+
+    Dto_Tag toTag(PostTagRow row);
+
     CreatePostRequest tocreatpostrequest(Create_Post_Dto dto);
     UpdatePostRequest toupdatepostrequest(Update_Post_Dto dto);
 
@@ -4,6 +4,7 @@ import com.example.demo.domain.dtos.Dto_Tag;
 import com.example.demo.domain.entity.Entity_Post;
 import com.example.demo.domain.entity.Entity_Tags;
 import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.projections.NamedPostCount;
 import java.util.Set;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -16,6 +17,8 @@ public interface TagMapper {
     @Mapping(target = "postCount", source = "posts", qualifiedByName = "calculatePostCount")
     Dto_Tag toTagResponse(Entity_Tags tag);
 
+    Dto_Tag toTagResponse(NamedPostCount tag);
+
     @Named("calculatePostCount")
     default Integer calculatePostCount(Set<Entity_Post> posts) {
         if (posts == null) {
@@ -0,0 +1,10 @@
+package com.example.demo.domain.projections;
+
+import java.util.UUID;
+
+// Category or tag with its number of published posts, counted by the database
+public interface NamedPostCount {
+    UUID getId();
+    String getName();
+    Long getPostCount();
+}
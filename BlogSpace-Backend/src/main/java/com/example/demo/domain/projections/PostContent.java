@@ -0,0 +1,16 @@
+package com.example.demo.domain.projections;
+
+import com.example.demo.domain.converters.ContentCodec;
+
+import java.util.UUID;
+
+public interface PostContent {
+    UUID getId();
+    String getStoredContent();
+    byte[] getContentCompressed();
+    String getContentHash();
+
+    default String getContent() {
+        return ContentCodec.decode(getStoredContent(), getContentCompressed());
+    }
+}
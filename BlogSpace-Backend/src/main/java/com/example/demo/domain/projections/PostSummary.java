@@ -0,0 +1,21 @@
+package com.example.demo.domain.projections;
+
+import com.example.demo.domain.Enum_Post;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Feed row read straight from the query result, never the content column and never a managed entity
+public interface PostSummary {
+    UUID getId();
+    String getTitle();
+    String getExcerpt();
+    UUID getAuthorId();
+    String getAuthorName();
+    UUID getCategoryId();
+    String getCategoryName();
+    Integer getReadingTime();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Enum_Post getStatus();
+}
@@ -0,0 +1,9 @@
+package com.example.demo.domain.projections;
+
+import java.util.UUID;
+
+public interface PostTagRow {
+    UUID getPostId();
+    UUID getId();
+    String getName();
+}
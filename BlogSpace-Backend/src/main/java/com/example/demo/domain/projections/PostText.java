@@ -0,0 +1,19 @@
+package com.example.demo.domain.projections;
+
+import com.example.demo.domain.converters.ContentCodec;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface PostText {
+    UUID getId();
+    String getTitle();
+    String getStoredContent();
+    byte[] getContentCompressed();
+    LocalDateTime getCreatedAt();
+
+    // Stored text, or the inflated body of a compressed post
+    default String getContent() {
+        return ContentCodec.decode(getStoredContent(), getContentCompressed());
+    }
+}
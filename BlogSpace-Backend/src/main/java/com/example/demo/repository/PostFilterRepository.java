@@ -0,0 +1,19 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.PostCursor;
+import com.example.demo.domain.PostFilter;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.projections.PostSummary;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PostFilterRepository {
+
+    // Seek page of summaries matching the filter, newest first, in a single statement
+    List<PostSummary> findPage(PostFilter filter, PostCursor after, int limit);
+
+    // Every post matching the filter, newest first, as a database cursor with author and category joined.
+    // Read-only entities; tags are left to the caller
+    Stream<Entity_Post> streamMatching(PostFilter filter);
+}
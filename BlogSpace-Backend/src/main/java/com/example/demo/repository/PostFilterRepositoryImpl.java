@@ -0,0 +1,187 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.PostCursor;
+import com.example.demo.domain.PostFilter;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.domain.projections.PostSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Criteria query over the same columns as the old per-combination JPQL seek queries. Only the
+// predicates for the criteria that are set are added, so each shape still meets its index :
+// (status, created_at, id), (author_id, ...), (column_id, ...) and post_tags (tag_id, post_id).
+class PostFilterRepositoryImpl implements PostFilterRepository {
+
+    private static final int STREAM_FETCH_SIZE = 256;
+
+    private final EntityManager entityManager;
+
+    PostFilterRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<PostSummary> findPage(PostFilter filter, PostCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Entity_Post> post = query.from(Entity_Post.class);
+        Join<Entity_Post, Entity_User> author = post.join("author");
+        Join<Entity_Post, Entity_Category> category = post.join("category");
+        Path<UUID> id = post.get("id");
+        Path<LocalDateTime> createdAt = post.get("createdAt");
+
+        query.multiselect(
+                id.alias("id"),
+                post.get("title").alias("title"),
+                post.get("excerpt").alias("excerpt"),
+                author.get("id").alias("authorId"),
+                author.get("username").alias("authorName"),
+                category.get("id").alias("categoryId"),
+                category.get("name").alias("categoryName"),
+                post.get("readingTime").alias("readingTime"),
+                createdAt.alias("createdAt"),
+                post.get("updatedAt").alias("updatedAt"),
+                post.get("status").alias("status"));
+
+        List<Predicate> where = matching(cb, query, post, author, category, filter);
+        where.add(cb.or(
+                cb.lessThan(createdAt, after.getCreatedAt()),
+                cb.and(cb.equal(createdAt, after.getCreatedAt()), cb.lessThan(id, after.getId()))));
+
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(createdAt), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .<PostSummary>map(TupleSummary::new)
+                .toList();
+    }
+
+    @Override
+    public Stream<Entity_Post> streamMatching(PostFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Entity_Post> query = cb.createQuery(Entity_Post.class);
+        Root<Entity_Post> post = query.from(Entity_Post.class);
+        // Fetch joins double as the joins the predicates filter on
+        @SuppressWarnings("unchecked")
+        Join<Entity_Post, Entity_User> author = (Join<Entity_Post, Entity_User>) post.<Entity_Post, Entity_User>fetch("author");
+        @SuppressWarnings("unchecked")
+        Join<Entity_Post, Entity_Category> category = (Join<Entity_Post, Entity_Category>) post.<Entity_Post, Entity_Category>fetch("category");
+
+        query.select(post)
+                .where(matching(cb, query, post, author, category, filter).toArray(Predicate[]::new))
+                .orderBy(cb.desc(post.get("createdAt")), cb.desc(post.get("id")));
+        // The fetch size only takes effect inside a transaction on PostgreSQL, which the caller provides
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    // Only the predicates for the criteria that are set, shared by the page and the stream
+    private static List<Predicate> matching(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Entity_Post> post,
+                                            Join<Entity_Post, Entity_User> author,
+                                            Join<Entity_Post, Entity_Category> category,
+                                            PostFilter filter) {
+        Path<LocalDateTime> createdAt = post.get("createdAt");
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(post.get("status"), filter.getStatus()));
+        if (filter.getAuthorId() != null) {
+            where.add(cb.equal(author.get("id"), filter.getAuthorId()));
+        }
+        if (filter.getCategoryId() != null) {
+            where.add(cb.equal(category.get("id"), filter.getCategoryId()));
+        }
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(createdAt, filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(createdAt, filter.getTo()));
+        }
+        if (!filter.getTagIds().isEmpty()) {
+            if (filter.getTagMatch() == PostFilter.TagMatch.ANY) {
+                where.add(cb.exists(taggedWith(query, post, filter.getTagIds())));
+            } else {
+                // One indexed probe per tag rather than a GROUP BY ... HAVING over all tagged rows
+                for (UUID tagId : filter.getTagIds()) {
+                    where.add(cb.exists(taggedWith(query, post, List.of(tagId))));
+                }
+            }
+        }
+        return where;
+    }
+
+    private static Subquery<UUID> taggedWith(CriteriaQuery<?> query, Root<Entity_Post> post, Collection<UUID> tagIds) {
+        Subquery<UUID> tagged = query.subquery(UUID.class);
+        Root<Entity_Post> correlated = tagged.correlate(post);
+        Join<Entity_Post, Entity_Tags> tag = correlated.join("tags");
+        Path<UUID> tagId = tag.get("id");
+        return tagged.select(tagId).where(tagId.in(tagIds));
+    }
+
+    private record TupleSummary(Tuple row) implements PostSummary {
+        public UUID getId() {
+            return row.get("id", UUID.class);
+        }
+
+        public String getTitle() {
+            return row.get("title", String.class);
+        }
+
+        public String getExcerpt() {
+            return row.get("excerpt", String.class);
+        }
+
+        public UUID getAuthorId() {
+            return row.get("authorId", UUID.class);
+        }
+
+        public String getAuthorName() {
+            return row.get("authorName", String.class);
+        }
+
+        public UUID getCategoryId() {
+            return row.get("categoryId", UUID.class);
+        }
+
+        public String getCategoryName() {
+            return row.get("categoryName", String.class);
+        }
+
+        public Integer getReadingTime() {
+            return row.get("readingTime", Integer.class);
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return row.get("createdAt", LocalDateTime.class);
+        }
+
+        public LocalDateTime getUpdatedAt() {
+            return row.get("updatedAt", LocalDateTime.class);
+        }
+
+        public Enum_Post getStatus() {
+            return row.get("status", Enum_Post.class);
+        }
+    }
+}
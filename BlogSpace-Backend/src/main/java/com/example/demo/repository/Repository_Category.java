@@ -1,10 +1,14 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.Enum_Post;
 import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.projections.NamedPostCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,12 +16,16 @@ import java.util.UUID;
 public interface Repository_Category extends JpaRepository<Entity_Category, UUID> {
 
     @Query("""
-        SELECT DISTINCT c
+        SELECT c.id AS id, c.name AS name, COUNT(p.id) AS postCount
         FROM Entity_Category c
-        LEFT JOIN FETCH c.posts
+        LEFT JOIN c.posts p ON p.status = :status
+        GROUP BY c.id, c.name
+        ORDER BY c.name
     """)
-    List<Entity_Category> findAllWithPosts();
+    List<NamedPostCount> findAllWithPostCount(@Param("status") Enum_Post status);
 
     boolean existsByName(String name);
+
+    List<Entity_Category> findByNameIn(Collection<String> names);
 }
 
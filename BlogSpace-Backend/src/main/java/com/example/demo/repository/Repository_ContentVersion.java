@@ -0,0 +1,19 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.entity.Entity_ContentVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface Repository_ContentVersion extends JpaRepository<Entity_ContentVersion, String> {
+
+    // Joins the caller's transaction when there is one, so the bump commits with the change it describes
+    @Transactional
+    @Modifying
+    @Query("UPDATE Entity_ContentVersion v SET v.version = v.version + 1, v.modifiedAt = :now WHERE v.kind = :kind")
+    int bump(@Param("kind") String kind, @Param("now") long now);
+}
@@ -1,22 +1,123 @@
 package com.example.demo.repository;
 
 import com.example.demo.domain.Enum_Post;
-import com.example.demo.domain.entity.Entity_Category;
 import com.example.demo.domain.entity.Entity_Post;
-import com.example.demo.domain.entity.Entity_Tags;
-import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.domain.projections.PostContent;
+import com.example.demo.domain.projections.PostTagRow;
+import com.example.demo.domain.projections.PostText;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import javax.swing.text.html.parser.Entity;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface Repository_Post extends JpaRepository<Entity_Post, UUID> {
-    List<Entity_Post> findAllByStatusAndCategoryAndTags(Enum_Post status, Entity_Category category, Entity_Tags tags);
-    List<Entity_Post> findAllByStatusAndCategory(Enum_Post status, Entity_Category category);
-    List<Entity_Post> findAllByStatusAndTagsContaining(Enum_Post status , Entity_Tags tags);
-    List<Entity_Post> findAllByStatus(Enum_Post status);
-    List<Entity_Post> findAllByAuthorAndStatus(Entity_User author , Enum_Post status);
+public interface Repository_Post extends JpaRepository<Entity_Post, UUID>, PostFilterRepository {
+
+    // Author, category and tags in the same SELECT, so mapping to Dto_Posts fires no lazy loads
+    @EntityGraph(attributePaths = {"author", "category", "tags"})
+    Optional<Entity_Post> findWithDetailsById(UUID id);
+
+    @Query("""
+        SELECT p.id AS postId, t.id AS id, t.name AS name
+        FROM Entity_Post p JOIN p.tags t
+        WHERE p.id IN :postIds
+    """)
+    List<PostTagRow> findTagRowsByPostIds(@Param("postIds") Collection<UUID> postIds);
+
+    // Search index bulk load, walked in id order
+    @Query("""
+        SELECT p.id AS id, p.title AS title, p.storedContent AS storedContent, p.contentCompressed AS contentCompressed,
+               p.createdAt AS createdAt
+        FROM Entity_Post p
+        WHERE p.status = :status AND p.id > :after
+        ORDER BY p.id
+    """)
+    List<PostText> findTextPageByStatus(@Param("status") Enum_Post status,
+                                        @Param("after") UUID after,
+                                        Limit limit);
+
+    @Query("""
+        SELECT p.id AS id, p.title AS title, p.storedContent AS storedContent, p.contentCompressed AS contentCompressed,
+               p.createdAt AS createdAt
+        FROM Entity_Post p
+        WHERE p.status = :status AND p.id IN :ids
+    """)
+    List<PostText> findTextByStatusAndIdIn(@Param("status") Enum_Post status,
+                                           @Param("ids") Collection<UUID> ids);
+
+    // Rows whose derived fields predate the given analyzer version, walked in id order
+    @Query("""
+        SELECT p.id AS id, p.title AS title, p.storedContent AS storedContent, p.contentCompressed AS contentCompressed,
+               p.createdAt AS createdAt
+        FROM Entity_Post p
+        WHERE (p.analysisVersion IS NULL OR p.analysisVersion < :version) AND p.id > :after
+        ORDER BY p.id
+    """)
+    List<PostText> findTextPageToAnalyze(@Param("version") int version,
+                                         @Param("after") UUID after,
+                                         Limit limit);
+
+    // Bulk update so updatedAt is untouched; skipped if a save analyzed the row meanwhile
+    @Modifying
+    @Query("""
+        UPDATE Entity_Post p
+        SET p.wordCount = :wordCount, p.readingTime = :readingTime, p.excerpt = :excerpt,
+            p.contentHash = :contentHash, p.contentHtml = :contentHtml, p.analysisVersion = :version
+        WHERE p.id = :id AND (p.analysisVersion IS NULL OR p.analysisVersion < :version)
+    """)
+    int applyAnalysis(@Param("id") UUID id,
+                      @Param("wordCount") int wordCount,
+                      @Param("readingTime") int readingTime,
+                      @Param("excerpt") String excerpt,
+                      @Param("contentHash") String contentHash,
+                      @Param("contentHtml") String contentHtml,
+                      @Param("version") int version);
+
+    // Content migration, walked in id order : plain rows of at least minBytes of UTF-8, then compressed rows.
+    // Native for OCTET_LENGTH, which counts bytes on both PostgreSQL and H2; ids come back as text so the
+    // result type does not depend on the driver.
+    @Query(value = """
+        SELECT CAST(p.id AS VARCHAR(36)) FROM posts_table p
+        WHERE p.id > :after AND p.content_hash IS NOT NULL
+          AND p.content_compressed IS NULL AND OCTET_LENGTH(p.content) >= :minBytes
+        ORDER BY p.id LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findIdsStoredPlain(@Param("after") UUID after,
+                                    @Param("minBytes") int minBytes,
+                                    @Param("limit") int limit);
+
+    @Query(value = """
+        SELECT CAST(p.id AS VARCHAR(36)) FROM posts_table p
+        WHERE p.id > :after AND p.content_hash IS NOT NULL AND p.content_compressed IS NOT NULL
+        ORDER BY p.id LIMIT :limit
+    """, nativeQuery = true)
+    List<String> findIdsStoredCompressed(@Param("after") UUID after,
+                                         @Param("limit") int limit);
+
+    @Query("""
+        SELECT p.id AS id, p.storedContent AS storedContent, p.contentCompressed AS contentCompressed,
+               p.contentHash AS contentHash
+        FROM Entity_Post p
+        WHERE p.id IN :ids
+    """)
+    List<PostContent> findContentByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Writes the stored form back; skipped if the post was edited meanwhile
+    @Modifying
+    @Query("""
+        UPDATE Entity_Post p SET p.storedContent = :storedContent, p.contentCompressed = :contentCompressed
+        WHERE p.id = :id AND p.contentHash = :contentHash
+    """)
+    int rewriteContent(@Param("id") UUID id,
+                       @Param("storedContent") String storedContent,
+                       @Param("contentCompressed") byte[] contentCompressed,
+                       @Param("contentHash") String contentHash);
 }
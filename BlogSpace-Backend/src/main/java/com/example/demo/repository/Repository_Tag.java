@@ -1,20 +1,28 @@
 package com.example.demo.repository;
 
+import com.example.demo.domain.Enum_Post;
 import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.projections.NamedPostCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.support.JpaRepositoryImplementation;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface Repository_Tag extends JpaRepository<Entity_Tags, UUID> {
-    @Query("Select t from Entity_Tags t Left join fetch t.posts")
-    List<Entity_Tags> findAllWithPostCount();
+public interface Repository_Tag extends JpaRepository<Entity_Tags, UUID>, TagUpsertRepository {
+    @Query("""
+        SELECT t.id AS id, t.name AS name, COUNT(p.id) AS postCount
+        FROM Entity_Tags t
+        LEFT JOIN t.posts p ON p.status = :status
+        GROUP BY t.id, t.name
+        ORDER BY t.name
+    """)
+    List<NamedPostCount> findAllWithPostCount(@Param("status") Enum_Post status);
 
-    @Query("")
-    List<Entity_Tags> findByNameIn(Set<String> tagNames);
+    List<Entity_Tags> findByNameIn(Collection<String> tagNames);
 }
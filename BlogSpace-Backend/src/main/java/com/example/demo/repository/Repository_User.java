@@ -2,7 +2,11 @@ package com.example.demo.repository;
 
 import com.example.demo.domain.entity.Entity_User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -12,4 +16,11 @@ import java.util.UUID;
 public interface Repository_User extends JpaRepository<Entity_User, UUID> {
     Entity_User findByUsername(String email);
     Optional<Entity_User> findByAuth0Id(String auth0Id);  // for AUTH0
-    Optional<Entity_User> findByEmail(String email);}
+    Optional<Entity_User> findByEmail(String email);
+
+    // Compare-and-set, so a password changed meanwhile is never overwritten by a login re-hash
+    @Transactional
+    @Modifying
+    @Query("UPDATE Entity_User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
+}
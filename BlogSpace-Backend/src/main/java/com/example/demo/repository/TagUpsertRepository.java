@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.projections.NamedPostCount;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Set-based "get or create" of tags by name, safe when several authors create the same tags at once
+public interface TagUpsertRepository {
+
+    // Every requested tag, existing or new, with its published post count, ordered by name
+    List<UpsertedTag> upsertByNames(Collection<String> names);
+
+    @Getter
+    @RequiredArgsConstructor
+    final class UpsertedTag implements NamedPostCount {
+        private final UUID id;
+        private final String name;
+        private final Long postCount;
+        private final boolean created;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.Enum_Post;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Plain JDBC on the caller's transaction : the statements return projections, not managed entities.
+class TagUpsertRepositoryImpl implements TagUpsertRepository {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    // One round trip on PostgreSQL. DO UPDATE rather than DO NOTHING so rows inserted by a concurrent
+    // caller after this statement's snapshot still come back through RETURNING; xmax = 0 marks new rows.
+    // Input is sorted so overlapping concurrent upserts lock rows in the same order and cannot deadlock.
+    // The price : DO UPDATE writes a new row version (and dead tuple) for every tag that already existed,
+    // on every call, even though the name does not change; autovacuum has to keep up with tags_table.
+    private static final String POSTGRES_UPSERT = """
+        WITH upserted AS (
+            INSERT INTO tags_table (id, name)
+            SELECT gen_random_uuid(), n.name FROM unnest(?::text[]) AS n(name) ORDER BY n.name
+            ON CONFLICT (name) DO UPDATE SET name = EXCLUDED.name
+            RETURNING id, name, (xmax = 0) AS created
+        )
+        SELECT u.id, u.name, u.created,
+               (SELECT COUNT(*) FROM post_tags pt JOIN posts_table p ON p.id = pt.post_id
+                WHERE pt.tag_id = u.id AND p.status = ?) AS post_count
+        FROM upserted u
+        ORDER BY u.name
+    """;
+
+    private static final String SELECT_BY_NAMES = """
+        SELECT t.id, t.name, FALSE AS created,
+               (SELECT COUNT(*) FROM post_tags pt JOIN posts_table p ON p.id = pt.post_id
+                WHERE pt.tag_id = t.id AND p.status = :status) AS post_count
+        FROM tags_table t
+        WHERE t.name IN (:names)
+        ORDER BY t.name
+    """;
+
+    private static final String INSERT = "INSERT INTO tags_table (id, name) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private volatile Boolean postgres;
+
+    TagUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public List<UpsertedTag> upsertByNames(Collection<String> names) {
+        if (names.isEmpty()) {
+            return List.of();
+        }
+        String[] sorted = new TreeSet<>(names).toArray(String[]::new);
+        if (isPostgres()) {
+            return jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(POSTGRES_UPSERT);
+                statement.setArray(1, connection.createArrayOf("text", sorted));
+                statement.setString(2, Enum_Post.PUBLISHED.name());
+                return statement;
+            }, (rs, row) -> toTag(rs));
+        }
+        return selectThenInsert(List.of(sorted));
+    }
+
+    // Other databases (H2 in tests) : read, insert what is missing, and read again if a concurrent
+    // caller won the unique constraint on some name
+    private List<UpsertedTag> selectThenInsert(List<String> names) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("names", names)
+                .addValue("status", Enum_Post.PUBLISHED.name());
+        for (int attempt = 1; ; attempt++) {
+            List<UpsertedTag> existing = namedJdbcTemplate.query(SELECT_BY_NAMES, params, (rs, row) -> toTag(rs));
+            Set<String> found = existing.stream().map(UpsertedTag::getName).collect(Collectors.toSet());
+            List<Object[]> missing = new ArrayList<>();
+            for (String name : names) {
+                if (!found.contains(name)) {
+                    missing.add(new Object[]{UUID.randomUUID(), name});
+                }
+            }
+            if (missing.isEmpty()) {
+                return existing;
+            }
+            try {
+                jdbcTemplate.batchUpdate(INSERT, missing);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+                continue;
+            }
+            List<UpsertedTag> tags = new ArrayList<>(existing);
+            for (Object[] row : missing) {
+                tags.add(new UpsertedTag((UUID) row[0], (String) row[1], 0L, true));
+            }
+            tags.sort((a, b) -> a.getName().compareTo(b.getName()));
+            return tags;
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean known = postgres;
+        if (known == null) {
+            known = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = known;
+        }
+        return known;
+    }
+
+    private static UpsertedTag toTag(ResultSet rs) throws SQLException {
+        return new UpsertedTag(
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getLong("post_count"),
+                rs.getBoolean("created"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.UUID;
+
+// Authenticated user as described by the JWT claims. Built without touching the user table.
+@Getter
+@RequiredArgsConstructor
+public class BlogPrincipal implements UserDetails {
+    private final UUID id;
+    private final String email;
+    private final String name;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public static BlogPrincipal from(BlogUserDetails userDetails) {
+        return new BlogPrincipal(
+                userDetails.getId(),
+                userDetails.getUsername(),
+                userDetails.getUser().getUsername(),
+                userDetails.getAuthorities());
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -5,42 +5,52 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
+// The bearer token is only verified when something reads the SecurityContext : an authorization
+// rule other than permitAll, or a controller asking for the principal. Public reads with a token
+// attached never parse it.
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final Service_Auth_Impl service_auth;
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
 
     public JwtAuthenticationFilter(Service_Auth_Impl service_auth) {
         this.service_auth = service_auth;
     }
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        try {
-            String token = extractToken(request);
-            if (token != null) {
-                UserDetails userdet = service_auth.validateToken(token);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userdet, null, userdet.getAuthorities());
+        String token = extractToken(request);
+        if (token != null) {
+            Supplier<SecurityContext> previous = contextHolder.getDeferredContext();
+            // Memoized : the strategy hands the same supplier to every reader of the request
+            contextHolder.setDeferredContext(SingletonSupplier.of(() -> authenticate(token, previous)));
+        }
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request,response);
+    }
 
-                if (userdet instanceof BlogUserDetails) {
-                    request.setAttribute("UserId", ((BlogUserDetails) userdet).getId());
-                }
-            }
+    private SecurityContext authenticate(String token, Supplier<SecurityContext> previous) {
+        try {
+            UserDetails userdet = service_auth.validateToken(token);
+            SecurityContext context = contextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(userdet, null, userdet.getAuthorities()));
+            return context;
         }
         catch(Exception e){
             log.warn("Received Invalid Auth Token");
+            return previous.get();
         }
-
-        filterChain.doFilter(request,response);
     }
 
     private String extractToken(HttpServletRequest request) {
@@ -8,8 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
@@ -23,7 +21,6 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
 
     private final Repository_User repository_user;
     private final Service_Auth_Impl service_auth;
-    private final UserDetailsService userDetailsService;
 
     // 👇 Read from environment variable, fallback to localhost for local dev
     @Value("${FRONTEND_URL:http://localhost:5173}")
@@ -53,8 +50,7 @@ public class OAuth2SuccessHandler implements AuthenticationSuccessHandler {
                 });
 
         // Generate JWT
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-        String token = service_auth.generateToken(userDetails);
+        String token = service_auth.generateToken(new BlogUserDetails(user));
 
         // 👇 Redirect to frontend using environment variable
         response.sendRedirect(frontendUrl + "/oauth2/callback?token=" + token);
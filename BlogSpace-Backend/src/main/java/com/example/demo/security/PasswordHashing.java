@@ -0,0 +1,213 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Password hashing runs on its own small pool with a bounded queue, so a login burst or a
+// credential-stuffing run costs at most `threads` cores and `queue` waiting requests; anything
+// beyond is refused at once. Each client address and each account may only hold a few of the
+// queued slots, so one source cannot starve everybody else's logins. Callers give up after
+// max-wait-ms with the same 429, so at most `threads + queue` request threads are ever parked
+// here, none of them for longer than that.
+// Platform threads on purpose, even in virtual-thread mode : the work is pure CPU.
+@Component
+public class PasswordHashing implements MeterBinder {
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int maxPendingPerClient;
+    private final int maxPendingPerAccount;
+    private final int retryAfterSeconds;
+    private final long maxWaitMs;
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    // No-op until bound to the application's registry
+    private volatile Timer waitTimer = Timer.builder("auth.password.wait").register(new CompositeMeterRegistry());
+    private volatile Timer hashTimer = Timer.builder("auth.password.hash").register(new CompositeMeterRegistry());
+
+    public PasswordHashing(@Value("${security.password.hash-threads:0}") int threads,
+                           @Value("${security.password.hash-queue:64}") int queueCapacity,
+                           @Value("${security.password.max-pending-per-client:4}") int maxPendingPerClient,
+                           @Value("${security.password.max-pending-per-account:2}") int maxPendingPerAccount,
+                           @Value("${security.password.retry-after-seconds:1}") int retryAfterSeconds,
+                           @Value("${security.password.max-wait-ms:2000}") long maxWaitMs) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueCapacity = queueCapacity;
+        this.maxPendingPerClient = maxPendingPerClient;
+        this.maxPendingPerAccount = maxPendingPerAccount;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    @Getter
+    @Builder
+    public static class Stats {
+        private final int threads;
+        private final int active;
+        private final int queueDepth;
+        private final int queueCapacity;
+        private final long completed;
+        private final long rejected;
+        private final double averageWaitMs;
+        private final double averageHashMs;
+    }
+
+    // Runs the hashing on the pool and waits for it, at most max-wait-ms; the caller's thread only blocks, never computes
+    public <T> T run(String clientAddress, String account, Supplier<T> hashing) {
+        String clientKey = "client:" + (clientAddress == null ? "unknown" : clientAddress);
+        String accountKey = "account:" + (account == null ? "" : account.toLowerCase(Locale.ROOT));
+        if (!acquire(clientKey, maxPendingPerClient)) {
+            throw reject();
+        }
+        if (!acquire(accountKey, maxPendingPerAccount)) {
+            release(clientKey);
+            throw reject();
+        }
+        long queuedAt = System.nanoTime();
+        // Whoever claims first owns the slots : the worker starting the hash, or a caller giving up while it is queued
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> result;
+        try {
+            result = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                long started = System.nanoTime();
+                waitNanos.add(started - queuedAt);
+                waitTimer.record(started - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.get();
+                } finally {
+                    long hashed = System.nanoTime() - started;
+                    hashNanos.add(hashed);
+                    hashTimer.record(hashed, TimeUnit.NANOSECONDS);
+                    completed.increment();
+                    release(clientKey);
+                    release(accountKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            release(clientKey);
+            release(accountKey);
+            throw reject();
+        }
+        try {
+            return result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued : take it out and give its slots back. Already hashing : it finishes and releases them itself
+            if (claimed.compareAndSet(false, true)) {
+                executor.remove((Runnable) result);
+                release(clientKey);
+                release(accountKey);
+            }
+            throw reject();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public Stats stats() {
+        long done = Math.max(completed.sum(), 1);
+        return Stats.builder()
+                .threads(executor.getCorePoolSize())
+                .active(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .completed(completed.sum())
+                .rejected(rejected.sum())
+                .averageWaitMs(waitNanos.sum() / 1e6 / done)
+                .averageHashMs(hashNanos.sum() / 1e6 / done)
+                .build();
+    }
+
+    // Queue wait and hashing time as histograms, pool occupancy as gauges
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        waitTimer = Timer.builder("auth.password.wait")
+                .description("Time a login or registration waited for a hashing thread")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        hashTimer = Timer.builder("auth.password.hash")
+                .description("Password hash computation (matches, encode, upgrade)")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(2))
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+        Gauge.builder("auth.password.queue", executor, pool -> pool.getQueue().size()).register(registry);
+        FunctionCounter.builder("auth.password.rejected", rejected, LongAdder::sum)
+                .description("Hashing requests refused with 429")
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Per-key counts change atomically inside the map, so a release never races an acquire
+    private boolean acquire(String key, int limit) {
+        boolean[] admitted = {false};
+        pending.compute(key, (k, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= limit) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    // Keys at zero are dropped so the map only holds sources with work in flight
+    private void release(String key) {
+        pending.computeIfPresent(key, (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private TooManyRequestsException reject() {
+        rejected.increment();
+        return new TooManyRequestsException("Too many sign-in attempts, retry shortly", retryAfterSeconds);
+    }
+}
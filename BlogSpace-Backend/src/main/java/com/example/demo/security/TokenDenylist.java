@@ -0,0 +1,128 @@
+package com.example.demo.security;
+
+import com.example.demo.domain.entity.Entity_RevokedToken;
+import com.example.demo.repository.Repository_RevokedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Revoked token ids, checked on every authenticated request. A Bloom filter answers "never revoked"
+// for almost every token with a few bit reads and no allocation; only its rare positives reach the
+// exact map. Entries leave both when the token would have expired anyway. Revocations are written
+// to the database and reloaded at startup, so a restart does not resurrect a logged-out token.
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    private static final int HASHES = 4;
+
+    private final Repository_RevokedToken repository;
+    private final int bloomBits;
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Replaced wholesale when expired entries are purged; a Bloom filter cannot forget single entries
+    private volatile AtomicLongArray bloom;
+    private long nextPurgeAtMs;
+
+    public TokenDenylist(Repository_RevokedToken repository,
+                         @Value("${jwt.denylist.bloom-bits:1048576}") int bloomBits) {
+        this.repository = repository;
+        this.bloomBits = Math.max(64, bloomBits) & ~63;
+        this.bloom = new AtomicLongArray(this.bloomBits / 64);
+    }
+
+    @PostConstruct
+    void load() {
+        long now = System.currentTimeMillis();
+        for (Entity_RevokedToken token : repository.findByExpiresAtAfter(toDateTime(now))) {
+            add(token.getJti(), toEpochMs(token.getExpiresAt()));
+        }
+        nextPurgeAtMs = now;
+        if (!revoked.isEmpty()) {
+            log.info("Loaded {} revoked tokens", revoked.size());
+        }
+    }
+
+    // Request path : lock-free, allocation-free unless the filter reports a possible match
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        AtomicLongArray bits = bloom;
+        long h1 = mix(jti.hashCode());
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bloomBits);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return revoked.containsKey(jti);
+    }
+
+    public void revoke(String jti, long expiresAtMs) {
+        if (jti == null || expiresAtMs <= System.currentTimeMillis()) {
+            return;
+        }
+        repository.save(Entity_RevokedToken.builder().jti(jti).expiresAt(toDateTime(expiresAtMs)).build());
+        add(jti, expiresAtMs);
+        purgeIfDue();
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    // Serialized with rebuilds, so an id added while the filter is rebuilt cannot be left out of it
+    private synchronized void add(String jti, long expiresAtMs) {
+        revoked.merge(jti, expiresAtMs, Math::max);
+        setBits(bloom, jti);
+    }
+
+    // At most once a minute and only from revocations, never from the request path
+    private synchronized void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        if (now < nextPurgeAtMs) {
+            return;
+        }
+        nextPurgeAtMs = now + 60_000;
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+            AtomicLongArray rebuilt = new AtomicLongArray(bloomBits / 64);
+            revoked.keySet().forEach(jti -> setBits(rebuilt, jti));
+            bloom = rebuilt;
+        }
+        repository.deleteExpired(toDateTime(now));
+    }
+
+    private void setBits(AtomicLongArray bits, String jti) {
+        long h1 = mix(jti.hashCode());
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bloomBits);
+            long mask = 1L << bit;
+            bits.accumulateAndGet(bit >>> 6, mask, (current, add) -> current | add);
+        }
+    }
+
+    // SplitMix64 finalizer : spreads String.hashCode over 64 bits for double hashing
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static LocalDateTime toDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMs(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
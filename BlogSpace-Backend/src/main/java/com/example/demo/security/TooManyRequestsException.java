@@ -0,0 +1,15 @@
+package com.example.demo.security;
+
+import lombok.Getter;
+
+// Work shed before it started; answered with 429 and Retry-After
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public TooManyRequestsException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Claims of tokens whose signature was already checked, so a client repeating the same
+// bearer token skips base64/JSON decoding and the HMAC. Keys are SHA-256 of the token,
+// never the token itself, and entries die with the token's own expiry. Bounded by CLOCK
+// eviction, so more live tokens than maxEntries cost tokens not seen since the last sweep,
+// not the whole cache.
+//
+// Lookups run on every authenticated request and take no lock : a map read and a flag write.
+// Only inserts (a token's first request) serialize, on a ReentrantLock that does not pin
+// virtual threads the way a synchronized block does.
+public class VerifiedTokenCache {
+
+    private static final MessageDigest SHA_256 = sha256();
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final ReentrantLock insertLock = new ReentrantLock();
+    // Clock face : the key held by each slot, swept by the hand on insert. Guarded by insertLock
+    private final String[] slots;
+    private int hand;
+
+    private static final class Entry {
+        final Claims claims;
+        final long expiresAtMs;
+        // Set by lookups, cleared as the hand passes
+        volatile boolean referenced;
+
+        Entry(Claims claims, long expiresAtMs) {
+            this.claims = claims;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+
+    public VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.max(16, Math.min(maxEntries, 1 << 16)));
+        this.slots = new String[Math.max(0, maxEntries)];
+    }
+
+    public Claims get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMs <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        // Read first, so a hot token does not write the same cache line on every request
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.claims;
+    }
+
+    public void put(String token, Claims claims) {
+        if (maxEntries <= 0 || claims.getExpiration() == null) {
+            return;
+        }
+        String key = hash(token);
+        Entry entry = new Entry(claims, claims.getExpiration().getTime());
+        insertLock.lock();
+        try {
+            // Already holds a slot : replacing the value keeps it
+            if (entries.replace(key, entry) == null) {
+                int slot = freeSlot();
+                slots[slot] = key;
+                entries.put(key, entry);
+            }
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    public void invalidate(String token) {
+        entries.remove(hash(token));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Advances the hand to the first slot that is empty, stale or not referenced since the last pass,
+    // evicting its entry. At most two turns : the first clears every flag it passes.
+    private int freeSlot() {
+        long now = System.currentTimeMillis();
+        while (true) {
+            int slot = hand;
+            hand = (hand + 1) % slots.length;
+            String key = slots[slot];
+            if (key == null) {
+                return slot;
+            }
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return slot;
+            }
+            if (entry.referenced && entry.expiresAtMs > now) {
+                entry.referenced = false;
+                continue;
+            }
+            entries.remove(key, entry);
+            return slot;
+        }
+    }
+
+    // Cloning a ready digest skips the provider lookup of getInstance; a ThreadLocal would not help,
+    // each request runs on a fresh virtual thread
+    private static String hash(String token) {
+        MessageDigest digest;
+        try {
+            digest = (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            digest = sha256();
+        }
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
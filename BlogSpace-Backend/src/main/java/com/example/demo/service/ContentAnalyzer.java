@@ -0,0 +1,245 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Set;
+
+// Derives everything the read paths need from a post body in one scan : word count, reading time,
+// plain-text excerpt and allow-listed HTML. The allow-list matches what the web client used to
+// enforce with DOMPurify on every view (p, strong, em, br and no attributes).
+public final class ContentAnalyzer {
+
+    // Bump when the output changes, so the backfill recomputes rows analyzed by an older version
+    public static final int VERSION = 1;
+
+    private static final double WORDS_PER_MINUTE = 200;
+    private static final int EXCERPT_LENGTH = 200;
+    private static final Set<String> ALLOWED_TAGS = Set.of("p", "strong", "em", "br");
+    // Elements whose text is never content, dropped together with their body
+    private static final Set<String> DROPPED_ELEMENTS = Set.of(
+            "script", "style", "template", "noscript", "iframe", "object", "embed", "svg", "math",
+            "textarea", "select", "title", "xmp", "noembed", "noframes");
+
+    public record Analysis(int wordCount, int readingTime, String excerpt, String contentHash, String sanitizedHtml) {
+    }
+
+    private ContentAnalyzer() {
+    }
+
+    public static Analysis analyze(String html) {
+        if (html == null || html.isEmpty()) {
+            return new Analysis(0, 0, "", hash(""), "");
+        }
+        return new Scan(html).run();
+    }
+
+    static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Scan {
+        private final String html;
+        private final int length;
+        private final StringBuilder sanitized;
+        private final StringBuilder excerpt = new StringBuilder(EXCERPT_LENGTH + 1);
+        private int words;
+        private boolean inWord;
+        private boolean excerptFull;
+
+        Scan(String html) {
+            this.html = html;
+            this.length = html.length();
+            this.sanitized = new StringBuilder(length);
+        }
+
+        Analysis run() {
+            int i = 0;
+            while (i < length) {
+                char c = html.charAt(i);
+                if (c == '<') {
+                    i = tag(i);
+                } else if (c == '&') {
+                    i = entity(i);
+                } else {
+                    switch (c) {
+                        case '>' -> sanitized.append("&gt;");
+                        case '"' -> sanitized.append("&quot;");
+                        default -> sanitized.append(c);
+                    }
+                    text(c);
+                    i++;
+                }
+            }
+            int readingTime = (int) Math.ceil(words / WORDS_PER_MINUTE);
+            return new Analysis(words, readingTime, excerpt(), hash(html), sanitized.toString());
+        }
+
+        // Plain-text view of the body : feeds the word count and the excerpt, whitespace collapsed
+        private void text(char c) {
+            if (Character.isWhitespace(c)) {
+                inWord = false;
+                return;
+            }
+            if (!inWord) {
+                words++;
+                inWord = true;
+                if (!excerptFull && excerpt.length() > 0) {
+                    excerpt.append(' ');
+                }
+            }
+            if (!excerptFull) {
+                excerpt.append(c);
+                excerptFull = excerpt.length() > EXCERPT_LENGTH;
+            }
+        }
+
+        private String excerpt() {
+            if (!excerptFull) {
+                return excerpt.toString();
+            }
+            int cut = excerpt.lastIndexOf(" ", EXCERPT_LENGTH);
+            return excerpt.substring(0, cut > 0 ? cut : EXCERPT_LENGTH) + "...";
+        }
+
+        private int tag(int start) {
+            if (html.startsWith("<!--", start)) {
+                int end = html.indexOf("-->", start + 4);
+                return end < 0 ? length : end + 3;
+            }
+            int i = start + 1;
+            boolean closing = i < length && html.charAt(i) == '/';
+            if (closing) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < length && Character.isLetterOrDigit(html.charAt(i))) {
+                i++;
+            }
+            if (i == nameStart && !closing && (i >= length || html.charAt(i) != '!' && html.charAt(i) != '?')) {
+                // A lone '<' is text, as browsers treat it
+                sanitized.append("&lt;");
+                text('<');
+                return start + 1;
+            }
+            String name = html.substring(nameStart, i).toLowerCase();
+            int end = tagEnd(i);
+            // Tags separate words, as block elements do when rendered
+            inWord = false;
+            if (ALLOWED_TAGS.contains(name)) {
+                if (!closing) {
+                    sanitized.append('<').append(name).append('>');
+                } else if (!name.equals("br")) {
+                    sanitized.append("</").append(name).append('>');
+                }
+            } else if (!closing && DROPPED_ELEMENTS.contains(name) && html.charAt(end - 1) != '/') {
+                int close = indexOfIgnoreCase("</" + name, end);
+                return close < 0 ? length : tagEnd(close + 2 + name.length());
+            }
+            return end;
+        }
+
+        // Index just past the '>' closing a tag, skipping quoted attribute values
+        private int tagEnd(int i) {
+            char quote = 0;
+            for (; i < length; i++) {
+                char c = html.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    return i + 1;
+                }
+            }
+            return length;
+        }
+
+        private int indexOfIgnoreCase(String needle, int from) {
+            for (int i = from; i <= length - needle.length(); i++) {
+                if (html.regionMatches(true, i, needle, 0, needle.length())) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Well-formed references are copied as-is and decoded for the plain text; a bare '&' is escaped
+        private int entity(int start) {
+            int i = start + 1;
+            boolean numeric = i < length && html.charAt(i) == '#';
+            if (numeric) {
+                i++;
+            }
+            int nameStart = i;
+            while (i < length && i - nameStart < 10 && Character.isLetterOrDigit(html.charAt(i))) {
+                i++;
+            }
+            if (i == nameStart || i >= length || html.charAt(i) != ';') {
+                sanitized.append("&amp;");
+                text('&');
+                return start + 1;
+            }
+            String name = html.substring(nameStart, i);
+            int decoded = numeric ? codePoint(name) : named(name);
+            if (numeric && decoded < 0) {
+                sanitized.append("&amp;");
+                text('&');
+                return start + 1;
+            }
+            sanitized.append(html, start, i + 1);
+            if (decoded < 0) {
+                // Other named references are harmless; the browser resolves them, the excerpt keeps them
+                for (int j = start; j <= i; j++) {
+                    text(html.charAt(j));
+                }
+                return i + 1;
+            }
+            if (Character.isBmpCodePoint(decoded)) {
+                text((char) decoded);
+            } else {
+                text(Character.highSurrogate(decoded));
+                text(Character.lowSurrogate(decoded));
+            }
+            return i + 1;
+        }
+
+        private static int codePoint(String digits) {
+            try {
+                int value = digits.charAt(0) == 'x' || digits.charAt(0) == 'X'
+                        ? Integer.parseInt(digits.substring(1), 16)
+                        : Integer.parseInt(digits);
+                return Character.isValidCodePoint(value) && value != 0 ? value : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private static int named(String name) {
+            return switch (name) {
+                case "amp" -> '&';
+                case "lt" -> '<';
+                case "gt" -> '>';
+                case "quot" -> '"';
+                case "apos" -> '\'';
+                case "nbsp" -> ' ';
+                case "mdash" -> '—';
+                case "ndash" -> '–';
+                case "hellip" -> '…';
+                case "lsquo" -> '‘';
+                case "rsquo" -> '’';
+                case "ldquo" -> '“';
+                case "rdquo" -> '”';
+                default -> -1;
+            };
+        }
+    }
+}
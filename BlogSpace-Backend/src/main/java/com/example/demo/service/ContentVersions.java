@@ -0,0 +1,215 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Entity_ContentVersion;
+import com.example.demo.repository.Repository_ContentVersion;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Version stamp per public collection, bumped by every mutation. HTTP validators for the feed,
+// categories and tags, and the feed page cache, are derived from these.
+//
+// The counters live in Content_Versions_Table and are bumped in the writer's own transaction, so
+// every instance behind the load balancer agrees on them. Each instance re-reads them at most once
+// per refresh-ms : within that window a 304 needs no query at all, and a write made through another
+// instance shows up here at the latest when it ends. The writing instance re-reads right after its commit.
+@Slf4j
+@Component
+public class ContentVersions {
+
+    public enum Kind { POSTS, CATEGORIES, TAGS }
+
+    // Null : counters kept in this process only (unit tests, benchmarks)
+    private final Repository_ContentVersion repository;
+    private final long refreshMs;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(long[] versions, long[] modifiedAt, long readAtMs) {
+    }
+
+    @Autowired
+    public ContentVersions(Repository_ContentVersion repository,
+                           @Value("${content-versions.refresh-ms:1000}") long refreshMs) {
+        this.repository = repository;
+        this.refreshMs = refreshMs;
+        long now = System.currentTimeMillis();
+        long[] modifiedAt = new long[Kind.values().length];
+        Arrays.fill(modifiedAt, now);
+        this.snapshot = new Snapshot(new long[Kind.values().length], modifiedAt, now);
+    }
+
+    public ContentVersions() {
+        this(null, 0);
+    }
+
+    // Rows are created once, by whichever instance starts first
+    @PostConstruct
+    void load() {
+        if (repository == null) {
+            return;
+        }
+        for (Kind kind : Kind.values()) {
+            if (!repository.existsById(kind.name())) {
+                try {
+                    repository.saveAndFlush(Entity_ContentVersion.builder()
+                            .kind(kind.name()).version(0).modifiedAt(System.currentTimeMillis()).build());
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("Content version row {} created concurrently", kind);
+                }
+            }
+        }
+        refresh();
+    }
+
+    public long version(Kind kind) {
+        return current().versions()[kind.ordinal()];
+    }
+
+    // Strong validator combining the given collections, e.g. "12.lx3k2a-4.lx3jz0"; the bump time
+    // keeps stamps distinct if the table is ever recreated
+    public String stamp(Kind... kinds) {
+        Snapshot current = current();
+        StringBuilder stamp = new StringBuilder();
+        for (Kind kind : kinds) {
+            if (!stamp.isEmpty()) {
+                stamp.append('-');
+            }
+            stamp.append(current.versions()[kind.ordinal()])
+                    .append('.').append(Long.toString(current.modifiedAt()[kind.ordinal()], 36));
+        }
+        return stamp.toString();
+    }
+
+    public long lastModified(Kind... kinds) {
+        Snapshot current = current();
+        long latest = 0;
+        for (Kind kind : kinds) {
+            latest = Math.max(latest, current.modifiedAt()[kind.ordinal()]);
+        }
+        return latest;
+    }
+
+    // Inside a transaction the rows are bumped just before it commits, all kinds in enum order, so
+    // writers touching several collections cannot deadlock on them and hold their locks only briefly
+    public void bump(Kind kind) {
+        if (repository == null) {
+            bumpLocally(kind);
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.bump(kind.name(), System.currentTimeMillis());
+            refresh();
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        EnumSet<Kind> pending = (EnumSet<Kind>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            EnumSet<Kind> kinds = EnumSet.noneOf(Kind.class);
+            TransactionSynchronizationManager.bindResource(this, kinds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    long now = System.currentTimeMillis();
+                    for (Kind pendingKind : kinds) {
+                        repository.bump(pendingKind.name(), now);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ContentVersions.this);
+                    // Re-read by the next caller : no data access from inside the finished transaction
+                    if (status == STATUS_COMMITTED) {
+                        expire();
+                    }
+                }
+            });
+            pending = kinds;
+        }
+        pending.add(kind);
+    }
+
+    // One reader refreshes an expired snapshot, the others keep using the previous one meanwhile
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (repository != null && System.currentTimeMillis() - current.readAtMs() >= refreshMs
+                && refreshLock.tryLock()) {
+            try {
+                if (snapshot == current) {
+                    refresh();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private void expire() {
+        Snapshot current = snapshot;
+        snapshot = new Snapshot(current.versions(), current.modifiedAt(), 0);
+    }
+
+    // Under refreshLock rather than synchronized : it runs a query, which would pin a virtual thread
+    private void refresh() {
+        refreshLock.lock();
+        try {
+            Snapshot previous = snapshot;
+            long[] versions = previous.versions().clone();
+            long[] modifiedAt = previous.modifiedAt().clone();
+            try {
+                for (Entity_ContentVersion row : repository.findAll()) {
+                    Kind kind = Kind.valueOf(row.getKind());
+                    // Never backwards, should a read that started before a commit finish after it
+                    versions[kind.ordinal()] = Math.max(versions[kind.ordinal()], row.getVersion());
+                    modifiedAt[kind.ordinal()] = Math.max(modifiedAt[kind.ordinal()], row.getModifiedAt());
+                }
+            } catch (RuntimeException e) {
+                // Keep serving the last known stamps; retried after refreshMs
+                log.warn("Could not read content versions", e);
+            }
+            snapshot = new Snapshot(versions, modifiedAt, System.currentTimeMillis());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Bumped now and again after commit, so a reader of the old rows never holds the new stamp
+    private void bumpLocally(Kind kind) {
+        incrementLocally(kind);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementLocally(kind);
+                }
+            });
+        }
+    }
+
+    private void incrementLocally(Kind kind) {
+        refreshLock.lock();
+        try {
+            Snapshot previous = snapshot;
+            long[] versions = previous.versions().clone();
+            long[] modifiedAt = previous.modifiedAt().clone();
+            versions[kind.ordinal()]++;
+            modifiedAt[kind.ordinal()] = System.currentTimeMillis();
+            snapshot = new Snapshot(versions, modifiedAt, previous.readAtMs());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.service;
+
+import lombok.Getter;
+
+// Serialized Dto_PostPage together with the collection stamp it was built from
+@Getter
+public class FeedPage {
+    private final byte[] json;
+    private final String stamp;
+    private final long lastModified;
+    // When a reader first found this copy stale, 0 while it is current
+    private long staleSinceMs;
+
+    public FeedPage(byte[] json, String stamp, long lastModified) {
+        this.json = json;
+        this.stamp = stamp;
+        this.lastModified = lastModified;
+    }
+
+    // First caller to see the copy stale starts its clock; later writes do not reset it
+    synchronized long staleSince(long nowMs) {
+        if (staleSinceMs == 0) {
+            staleSinceMs = nowMs;
+        }
+        return staleSinceMs;
+    }
+}
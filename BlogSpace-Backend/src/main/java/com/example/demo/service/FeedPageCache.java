@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.service.ContentVersions.Kind;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+// Ready-to-write JSON for public feed pages, keyed by (filter, cursor, size). An entry built under an
+// older posts/categories stamp is stale : it keeps being served while one background refresh rebuilds it.
+@Slf4j
+@Component
+public class FeedPageCache {
+
+    private final ContentVersions contentVersions;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final long maxStaleMs;
+
+    private final Map<String, FeedPage> pages;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public FeedPageCache(ContentVersions contentVersions,
+                         ObjectMapper objectMapper,
+                         @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                         @Value("${posts.feed-cache.max-entries:512}") int maxEntries,
+                         @Value("${posts.feed-cache.max-stale-ms:30000}") long maxStaleMs) {
+        this.contentVersions = contentVersions;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.maxStaleMs = maxStaleMs;
+        this.pages = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FeedPage> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public FeedPage get(String key, Supplier<?> loader) {
+        FeedPage page;
+        synchronized (pages) {
+            page = pages.get(key);
+        }
+        if (page == null) {
+            return load(key, loader);
+        }
+        if (page.getStamp().equals(currentStamp())) {
+            return page;
+        }
+        // Stale for too long (refreshes failing or starved) : stop serving it. Measured from when the
+        // copy went stale, not from the latest write, which keeps moving while posts are being edited
+        long now = System.currentTimeMillis();
+        if (now - page.staleSince(now) > maxStaleMs) {
+            return load(key, loader);
+        }
+        refreshInBackground(key, loader);
+        return page;
+    }
+
+    public void clear() {
+        synchronized (pages) {
+            pages.clear();
+        }
+    }
+
+    private void refreshInBackground(String key, Supplier<?> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    load(key, loader);
+                } catch (RuntimeException e) {
+                    log.warn("Feed page refresh failed for {}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    private FeedPage load(String key, Supplier<?> loader) {
+        // Stamp taken before the query, so rows changed meanwhile leave this entry stale
+        String stamp = currentStamp();
+        long lastModified = lastModified();
+        try {
+            FeedPage page = new FeedPage(objectMapper.writeValueAsBytes(loader.get()), stamp, lastModified);
+            synchronized (pages) {
+                pages.put(key, page);
+            }
+            return page;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize feed page " + key, e);
+        }
+    }
+
+    private String currentStamp() {
+        return contentVersions.stamp(Kind.POSTS, Kind.CATEGORIES);
+    }
+
+    private long lastModified() {
+        return contentVersions.lastModified(Kind.POSTS, Kind.CATEGORIES);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.PostFilter;
+import com.example.demo.security.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+// NDJSON exports of the feed. Each one holds a pooled connection and a read-only transaction for
+// its whole length, so they are capped in number and get their own timeout rather than the global async one.
+@Slf4j
+@Component
+public class FeedStreams {
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final Service_Posts postService;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor executor;
+    private final Semaphore slots;
+    private final long timeoutMs;
+    private final int retryAfterSeconds;
+
+    public FeedStreams(Service_Posts postService,
+                       ObjectMapper objectMapper,
+                       @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                       @Value("${posts.stream.max-concurrent:2}") int maxConcurrent,
+                       @Value("${posts.stream.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${posts.stream.retry-after-seconds:60}") int retryAfterSeconds) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.slots = new Semaphore(maxConcurrent);
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    // The slot is held by the writer until it ends : after a timeout or a client disconnect its next send fails
+    public ResponseBodyEmitter open(PostFilter filter) {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Too many feed streams in progress, retry later", retryAfterSeconds);
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        try {
+            executor.execute(() -> {
+                try {
+                    write(filter, emitter);
+                    emitter.complete();
+                } catch (RuntimeException | IOException e) {
+                    log.debug("Feed stream stopped : {}", e.toString());
+                    emitter.completeWithError(e);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    private void write(PostFilter filter, ResponseBodyEmitter emitter) throws IOException {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(64 * 1024);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(chunk);
+        int[] written = {0};
+        postService.streamPosts(filter, post -> {
+            try {
+                objectMapper.writeValue(generator, post);
+                generator.writeRaw('\n');
+                // Sent (and flushed) per chunk rather than per line, so a consumer still sees steady progress
+                if (++written[0] % FLUSH_EVERY == 0) {
+                    send(generator, chunk, emitter);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        send(generator, chunk, emitter);
+        generator.close();
+    }
+
+    private static void send(JsonGenerator generator, ByteArrayOutputStream chunk, ResponseBodyEmitter emitter) throws IOException {
+        generator.flush();
+        if (chunk.size() > 0) {
+            emitter.send(chunk.toByteArray(), MediaType.APPLICATION_NDJSON);
+            chunk.reset();
+        }
+    }
+}
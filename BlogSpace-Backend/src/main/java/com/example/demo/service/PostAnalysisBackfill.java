@@ -0,0 +1,144 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.projections.PostText;
+import com.example.demo.repository.Repository_Post;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recomputes ContentAnalyzer fields for rows saved before it existed or by an older version.
+// Each batch commits on its own and finished rows drop out of the query, so a restart resumes.
+@Slf4j
+@Component
+public class PostAnalysisBackfill {
+
+    private final Repository_Post repository_post;
+    private final TransactionTemplate transactionTemplate;
+    private final PostDetailCache postDetailCache;
+    private final ContentVersions contentVersions;
+    private final TaskExecutor executor;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int threads;
+    private final boolean virtualThreads;
+
+    public PostAnalysisBackfill(Repository_Post repository_post,
+                                TransactionTemplate transactionTemplate,
+                                PostDetailCache postDetailCache,
+                                ContentVersions contentVersions,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                                @Value("${posts.analysis-backfill.enabled:true}") boolean enabled,
+                                @Value("${posts.analysis-backfill.batch-size:500}") int batchSize,
+                                @Value("${posts.analysis-backfill.threads:0}") int threads,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.repository_post = repository_post;
+        this.transactionTemplate = transactionTemplate;
+        this.postDetailCache = postDetailCache;
+        this.contentVersions = contentVersions;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (enabled) {
+            executor.execute(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("Post analysis backfill stopped, it resumes on next start", e);
+                }
+            });
+        }
+    }
+
+    // Reads batches in id order on the calling thread; analysis and updates run on the workers
+    public int run() {
+        long started = System.nanoTime();
+        AtomicInteger updated = new AtomicInteger();
+        // Still a fixed pool in virtual mode : the thread count is what bounds CPU and connection use
+        ExecutorService workers = virtualThreads
+                ? Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("post-analysis-", 0).factory())
+                : Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> batches = new ArrayList<>();
+        try {
+            UUID after = new UUID(0, 0);
+            while (true) {
+                List<PostText> rows = repository_post.findTextPageToAnalyze(
+                        ContentAnalyzer.VERSION, after, Limit.of(batchSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1).getId();
+                inFlight.acquireUninterruptibly();
+                batches.add(workers.submit(() -> {
+                    try {
+                        updated.addAndGet(apply(rows));
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+                if (rows.size() < batchSize) {
+                    break;
+                }
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Post analysis batch failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        if (updated.get() > 0) {
+            log.info("Post analysis backfill updated {} posts in {} ms",
+                    updated.get(), (System.nanoTime() - started) / 1_000_000);
+        }
+        return updated.get();
+    }
+
+    private int apply(List<PostText> rows) {
+        List<ContentAnalyzer.Analysis> analyses = new ArrayList<>(rows.size());
+        for (PostText row : rows) {
+            analyses.add(ContentAnalyzer.analyze(row.getContent()));
+        }
+        Integer count = transactionTemplate.execute(status -> {
+            int applied = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                ContentAnalyzer.Analysis analysis = analyses.get(i);
+                applied += repository_post.applyAnalysis(rows.get(i).getId(), analysis.wordCount(),
+                        analysis.readingTime(), analysis.excerpt(), analysis.contentHash(),
+                        analysis.sanitizedHtml(), ContentAnalyzer.VERSION);
+            }
+            return applied;
+        });
+        for (PostText row : rows) {
+            postDetailCache.invalidate(row.getId());
+        }
+        // Excerpts and reading times may have changed on the feed
+        contentVersions.bump(ContentVersions.Kind.POSTS);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.converters.ContentCodec;
+import com.example.demo.domain.projections.PostContent;
+import com.example.demo.repository.Repository_Post;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+// Brings stored content in line with posts.content-compression.enabled : compresses plain rows when
+// it is on, inflates compressed rows when it has been turned off. Rows are rewritten one transaction
+// per batch, so the job can stop anywhere and resume on the next start.
+@Slf4j
+@Component
+public class PostContentMigrator {
+
+    private final Repository_Post repository_post;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final boolean compress;
+    private final boolean migrate;
+    private final int minBytes;
+    private final int level;
+    private final int batchSize;
+
+    public PostContentMigrator(Repository_Post repository_post,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+                               @Value("${posts.content-compression.enabled:false}") boolean compress,
+                               @Value("${posts.content-compression.migrate:false}") boolean migrate,
+                               @Value("${posts.content-compression.min-bytes:1024}") int minBytes,
+                               @Value("${posts.content-compression.level:1}") int level,
+                               @Value("${posts.content-compression.batch-size:200}") int batchSize) {
+        this.repository_post = repository_post;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.compress = compress;
+        this.migrate = migrate;
+        this.minBytes = minBytes;
+        this.level = level;
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (migrate) {
+            executor.execute(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.error("Post content migration stopped, it resumes on next start", e);
+                }
+            });
+        }
+    }
+
+    public int run() {
+        long started = System.nanoTime();
+        int rewritten = 0;
+        UUID after = new UUID(0, 0);
+        while (true) {
+            List<UUID> ids = (compress
+                    ? repository_post.findIdsStoredPlain(after, minBytes, batchSize)
+                    : repository_post.findIdsStoredCompressed(after, batchSize))
+                    .stream().map(UUID::fromString).toList();
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+            Integer count = transactionTemplate.execute(status -> {
+                int applied = 0;
+                for (PostContent row : repository_post.findContentByIdIn(ids)) {
+                    String content = row.getContent();
+                    byte[] compressed = compress ? ContentCodec.compress(content, minBytes, level) : null;
+                    // Plain rows that would not shrink stay as they are
+                    if (compress && compressed == null) {
+                        continue;
+                    }
+                    applied += repository_post.rewriteContent(row.getId(),
+                            compressed == null ? content : "", compressed, row.getContentHash());
+                }
+                return applied;
+            });
+            rewritten += count == null ? 0 : count;
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        if (rewritten > 0) {
+            log.info("Post content migration rewrote {} posts ({}) in {} ms", rewritten,
+                    compress ? "compressed" : "inflated", (System.nanoTime() - started) / 1_000_000);
+        }
+        return rewritten;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.service;
+
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+// GET /posts/{id} body plus what HTTP validators need. On a cache miss the JSON is only
+// rendered when asked for, so a conditional request that ends in 304 never maps or serializes.
+public class PostDetail {
+
+    @Getter
+    private final UUID id;
+    @Getter
+    private final LocalDateTime updatedAt;
+    @Getter
+    private final String surrogateKeys;
+
+    private ByteBuffer json;
+    private final Supplier<ByteBuffer> render;
+
+    PostDetail(UUID id, LocalDateTime updatedAt, String surrogateKeys, ByteBuffer json) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+        this.surrogateKeys = surrogateKeys;
+        this.json = json;
+        this.render = null;
+    }
+
+    PostDetail(UUID id, LocalDateTime updatedAt, String surrogateKeys, Supplier<ByteBuffer> render) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+        this.surrogateKeys = surrogateKeys;
+        this.render = render;
+    }
+
+    public ByteBuffer getJson() {
+        if (json == null) {
+            json = render.get();
+        }
+        return json;
+    }
+
+    // Same entry with its own read position, for one more reader
+    PostDetail share() {
+        return new PostDetail(id, updatedAt, surrogateKeys, json.asReadOnlyBuffer());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import com.example.demo.service.ContentVersions.Kind;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+// Serialized GET /posts/{id} bodies kept in direct buffers, outside the Java heap, so large
+// article text read thousands of times does not churn the young generation. LRU within a byte budget.
+// Local writes drop their own entry; any change of the shared posts/categories versions, including one
+// made through another instance, drops them all.
+@Component
+public class PostDetailCache implements MeterBinder {
+
+    private final ContentVersions contentVersions;
+    private final long maxBytes;
+    private final long maxEntryBytes;
+
+    // Access-ordered : iteration starts at the least recently used entry
+    private final LinkedHashMap<UUID, PostDetail> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long usedBytes;
+    // Bumped by every invalidation; a put whose read started before it is dropped as possibly stale
+    private long generation;
+    // Versions the entries were rendered under
+    private long postsVersion;
+    private long categoriesVersion;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PostDetailCache(ContentVersions contentVersions,
+                           @Value("${posts.detail-cache.max-bytes:67108864}") long maxBytes) {
+        this.contentVersions = contentVersions;
+        this.postsVersion = contentVersions.version(Kind.POSTS);
+        this.categoriesVersion = contentVersions.version(Kind.CATEGORIES);
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxBytes / 4;
+    }
+
+    public PostDetail get(UUID id) {
+        long posts = contentVersions.version(Kind.POSTS);
+        long categories = contentVersions.version(Kind.CATEGORIES);
+        PostDetail entry;
+        synchronized (this) {
+            if (posts != postsVersion || categories != categoriesVersion) {
+                clear();
+                postsVersion = posts;
+                categoriesVersion = categories;
+            }
+            entry = entries.get(id);
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // Independent position per reader; the buffer itself is never written again
+        return entry.share();
+    }
+
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    // Returns the body to serve, cached or not
+    public ByteBuffer put(UUID id, LocalDateTime updatedAt, String surrogateKeys, byte[] json, long stamp) {
+        if (maxBytes <= 0 || json.length > maxEntryBytes) {
+            return ByteBuffer.wrap(json).asReadOnlyBuffer();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(json.length).put(json).flip();
+        synchronized (this) {
+            if (stamp != generation) {
+                return buffer.asReadOnlyBuffer();
+            }
+            PostDetail previous = entries.put(id, new PostDetail(id, updatedAt, surrogateKeys, buffer));
+            if (previous != null) {
+                usedBytes -= previous.getJson().capacity();
+            }
+            usedBytes += buffer.capacity();
+            evictOverBudget();
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public synchronized void invalidate(UUID id) {
+        generation++;
+        PostDetail removed = entries.remove(id);
+        if (removed != null) {
+            usedBytes -= removed.getJson().capacity();
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    // Readers of the old row must not repopulate the entry before the new row is visible,
+    // so the entry is dropped now and once more when the transaction commits
+    public void invalidateAfterCommit(UUID id) {
+        invalidate(id);
+        afterCommit(() -> invalidate(id));
+    }
+
+    public void clearAfterCommit() {
+        clear();
+        afterCommit(this::clear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<UUID, PostDetail>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().getJson().capacity();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("posts.detail_cache.requests", hits, LongAdder::sum).tag("result", "hit").register(registry);
+        FunctionCounter.builder("posts.detail_cache.requests", misses, LongAdder::sum).tag("result", "miss").register(registry);
+        FunctionCounter.builder("posts.detail_cache.evictions", evictions, LongAdder::sum).register(registry);
+        Gauge.builder("posts.detail_cache.used", this, PostDetailCache::getUsedBytes).baseUnit("bytes").register(registry);
+        Gauge.builder("posts.detail_cache.entries", this, PostDetailCache::getEntryCount).register(registry);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,369 @@
+package com.example.demo.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over published posts, ranked with BM25. Postings are parallel int arrays
+// keyed by a dense doc number; removed or replaced documents are tombstoned and compacted away later.
+@Component
+public class PostSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_QUERY_TERMS = 16;
+
+    public record Document(UUID id, Map<String, Integer> termFrequencies, int length) {
+    }
+
+    public record Hit(UUID id, float score) {
+    }
+
+    public record Hits(List<Hit> hits, int total, Set<String> terms) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[4];
+        int[] frequencies = new int[4];
+        int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size++] = frequency;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<UUID, Integer> docNumbers = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private UUID[] ids = new UUID[1024];
+    private int[] lengths = new int[1024];
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+
+    // Set while a bulk load runs, so rows it read before a delete are not resurrected
+    private Set<UUID> removedWhileLoading;
+
+    // Thread-safe and lock-free : bulk loads analyze in parallel before taking the write lock
+    public static Document analyze(UUID id, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int[] length = {0};
+        SearchText.tokenize(SearchText.plainText(title), (term, start, end) -> {
+            frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            length[0] += TITLE_WEIGHT;
+        });
+        SearchText.tokenize(SearchText.plainText(content), (term, start, end) -> {
+            frequencies.merge(term, 1, Integer::sum);
+            length[0]++;
+        });
+        return new Document(id, frequencies, length[0]);
+    }
+
+    public static Set<String> queryTerms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query != null) {
+            SearchText.tokenize(query, (term, start, end) -> {
+                if (terms.size() < MAX_QUERY_TERMS) {
+                    terms.add(term);
+                }
+            });
+        }
+        return terms;
+    }
+
+    public void index(UUID id, String title, String content) {
+        Document document = analyze(id, title, content);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            addLocked(document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            if (removedWhileLoading != null) {
+                removedWhileLoading.add(id);
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Applied once the surrounding transaction commits, or right away outside of one
+    public void indexAfterCommit(UUID id, String title, String content) {
+        afterCommit(() -> index(id, title, content));
+    }
+
+    public void removeAfterCommit(UUID id) {
+        afterCommit(() -> remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Bulk rows never overwrite documents indexed meanwhile by a create or update
+    public void load(Collection<Document> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Document document : documents) {
+                if (!docNumbers.containsKey(document.id())
+                        && (removedWhileLoading == null || !removedWhileLoading.contains(document.id()))) {
+                    addLocked(document);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Hits search(Set<String> terms, int offset, int limit) {
+        if (terms.isEmpty() || limit <= 0) {
+            return new Hits(List.of(), 0, terms);
+        }
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return new Hits(List.of(), 0, terms);
+            }
+            boolean tombstones = !removed.isEmpty();
+            float baseNorm = K1 * (1 - B);
+            float lengthNorm = K1 * B * liveCount / totalLength;
+            float[] scores = new float[docCount];
+            int[] matched = new int[64];
+            int total = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                int frequency = list.size;
+                if (tombstones) {
+                    for (int i = 0; i < list.size; i++) {
+                        if (removed.get(list.docs[i])) {
+                            frequency--;
+                        }
+                    }
+                }
+                float idf = (float) Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+                float boost = idf * (K1 + 1);
+                int[] docs = list.docs;
+                int[] frequencies = list.frequencies;
+                for (int i = 0; i < list.size; i++) {
+                    int doc = docs[i];
+                    if (tombstones && removed.get(doc)) {
+                        continue;
+                    }
+                    float tf = frequencies[i];
+                    if (scores[doc] == 0) {
+                        if (total == matched.length) {
+                            matched = Arrays.copyOf(matched, total * 2);
+                        }
+                        matched[total++] = doc;
+                    }
+                    scores[doc] += boost * tf / (tf + baseNorm + lengthNorm * lengths[doc]);
+                }
+            }
+            return new Hits(top(scores, matched, total, offset, limit), total, terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps only offset + limit candidates in a primitive min-heap instead of sorting every match
+    private List<Hit> top(float[] scores, int[] matched, int total, int offset, int limit) {
+        if (offset >= total) {
+            return List.of();
+        }
+        int[] heap = new int[Math.min(offset + limit, total)];
+        int size = 0;
+        for (int i = 0; i < total; i++) {
+            int doc = matched[i];
+            if (size < heap.length) {
+                heap[size] = doc;
+                siftUp(heap, size++, scores);
+            } else if (ranksBefore(doc, heap[0], scores)) {
+                heap[0] = doc;
+                siftDown(heap, size, scores);
+            }
+        }
+        Hit[] ranked = new Hit[size];
+        for (int i = size - 1; i >= 0; i--) {
+            int doc = heap[0];
+            ranked[i] = new Hit(ids[doc], scores[doc]);
+            heap[0] = heap[i];
+            siftDown(heap, i, scores);
+        }
+        return Arrays.asList(ranked).subList(offset, size);
+    }
+
+    // Higher score first, older document first on ties, so paging is stable
+    private static boolean ranksBefore(int a, int b, float[] scores) {
+        return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int doc = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksBefore(heap[parent], doc, scores)) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = doc;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        if (size == 0) {
+            return;
+        }
+        int doc = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && ranksBefore(heap[child], heap[child + 1], scores)) {
+                child++;
+            }
+            if (!ranksBefore(doc, heap[child], scores)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = doc;
+    }
+
+    private void addLocked(Document document) {
+        int doc = docCount++;
+        if (doc == ids.length) {
+            ids = Arrays.copyOf(ids, doc * 2);
+            lengths = Arrays.copyOf(lengths, doc * 2);
+        }
+        ids[doc] = document.id();
+        lengths[doc] = document.length();
+        docNumbers.put(document.id(), doc);
+        for (Map.Entry<String, Integer> entry : document.termFrequencies().entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+        }
+        liveCount++;
+        totalLength += document.length();
+    }
+
+    private void removeLocked(UUID id) {
+        Integer doc = docNumbers.remove(id);
+        if (doc != null) {
+            removed.set(doc);
+            ids[doc] = null;
+            liveCount--;
+            totalLength -= lengths[doc];
+        }
+    }
+
+    // Renumbers live documents once tombstones outnumber half of them
+    private void compactIfNeeded() {
+        int dead = docCount - liveCount;
+        if (dead < 1024 || dead < liveCount / 2) {
+            return;
+        }
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (removed.get(doc)) {
+                renumbered[doc] = -1;
+            } else {
+                renumbered[doc] = next;
+                ids[next] = ids[doc];
+                lengths[next] = lengths[doc];
+                docNumbers.put(ids[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(ids, next, docCount, null);
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            int kept = 0;
+            for (int i = 0; i < list.size; i++) {
+                int doc = renumbered[list.docs[i]];
+                if (doc >= 0) {
+                    list.docs[kept] = doc;
+                    list.frequencies[kept++] = list.frequencies[i];
+                }
+            }
+            list.size = kept;
+            if (kept == 0) {
+                lists.remove();
+            }
+        }
+        removed.clear();
+        docCount = next;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.demo.service;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Set;
+
+// Text handling shared by indexing and querying : HTML to plain text, tokens and highlighted snippets
+public final class SearchText {
+
+    private static final int MIN_TOKEN = 2;
+    private static final int MAX_TOKEN = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "in", "is",
+            "it", "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    public interface TokenSink {
+        // start/end delimit the token in the scanned text, term is its lower-cased form
+        void accept(String term, int start, int end);
+    }
+
+    private SearchText() {
+    }
+
+    // Drops tags, decodes the common entities and collapses whitespace in one pass
+    public static String plainText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(html.length());
+        boolean inTag = false;
+        boolean space = true;
+        for (int i = 0; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (inTag) {
+                inTag = c != '>';
+                continue;
+            }
+            if (c == '<') {
+                inTag = true;
+                c = ' ';
+            } else if (c == '&') {
+                int semi = html.indexOf(';', i);
+                if (semi > i && semi - i <= 8) {
+                    c = entity(html.substring(i + 1, semi));
+                    i = semi;
+                }
+            }
+            if (Character.isWhitespace(c)) {
+                if (!space) {
+                    out.append(' ');
+                    space = true;
+                }
+            } else {
+                out.append(c);
+                space = false;
+            }
+        }
+        int end = out.length();
+        return end > 0 && out.charAt(end - 1) == ' ' ? out.substring(0, end - 1) : out.toString();
+    }
+
+    private static char entity(String name) {
+        return switch (name) {
+            case "amp" -> '&';
+            case "lt" -> '<';
+            case "gt" -> '>';
+            case "quot" -> '"';
+            case "#39", "apos" -> '\'';
+            default -> ' ';
+        };
+    }
+
+    public static void tokenize(String text, TokenSink sink) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int size = i - start;
+            if (size >= MIN_TOKEN && size <= MAX_TOKEN) {
+                String term = text.substring(start, i).toLowerCase();
+                if (!STOP_WORDS.contains(term)) {
+                    sink.accept(term, start, i);
+                }
+            }
+        }
+    }
+
+    // HTML-escaped window of plain text around the first matching term, matches wrapped in <mark>
+    public static String snippet(String text, Set<String> terms, int maxLength) {
+        int[] first = {-1};
+        tokenize(text, (term, start, end) -> {
+            if (first[0] < 0 && terms.contains(term)) {
+                first[0] = start;
+            }
+        });
+        int from = 0;
+        if (first[0] > maxLength / 3) {
+            int space = text.indexOf(' ', first[0] - maxLength / 3);
+            from = space >= 0 && space < first[0] ? space + 1 : first[0];
+        }
+        int to = Math.min(text.length(), from + maxLength);
+        if (to < text.length()) {
+            int space = text.lastIndexOf(' ', to);
+            to = space > from ? space : to;
+        }
+        return (from > 0 ? "..." : "") + highlight(text.substring(from, to), terms) + (to < text.length() ? "..." : "");
+    }
+
+    public static String highlight(String text, Set<String> terms) {
+        StringBuilder out = new StringBuilder(text.length() + 32);
+        int[] copied = {0};
+        tokenize(text, (term, start, end) -> {
+            if (terms.contains(term)) {
+                out.append(HtmlUtils.htmlEscape(text.substring(copied[0], start)))
+                        .append("<mark>").append(HtmlUtils.htmlEscape(text.substring(start, end))).append("</mark>");
+                copied[0] = end;
+            }
+        });
+        return out.append(HtmlUtils.htmlEscape(text.substring(copied[0]))).toString();
+    }
+}
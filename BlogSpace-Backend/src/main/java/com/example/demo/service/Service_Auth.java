@@ -3,8 +3,10 @@ package com.example.demo.service;
 import org.springframework.security.core.userdetails.UserDetails;
 
 public interface Service_Auth {
-    UserDetails authenticate(String email, String password);
+    UserDetails authenticate(String email, String password, String clientAddress);
     String generateToken(UserDetails userDetails);
     UserDetails validateToken(String token);
-    void register(String email, String password , String username);
+    void revokeToken(String token);
+    void revokeTokenId(String jti);
+    void register(String email, String password , String username, String clientAddress);
 }
@@ -2,16 +2,25 @@ package com.example.demo.service;
 
 import com.example.demo.domain.entity.Entity_User;
 import com.example.demo.repository.Repository_User;
+import com.example.demo.security.BlogPrincipal;
+import com.example.demo.security.BlogUserDetails;
+import com.example.demo.security.PasswordHashing;
+import com.example.demo.security.TokenDenylist;
+import com.example.demo.security.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.nio.charset.StandardCharsets;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -19,41 +28,88 @@ import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class Service_Auth_Impl implements Service_Auth{
 
     private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final Repository_User userRepository;
+    private final PasswordHashing passwordHashing;
+    private final TokenDenylist tokenDenylist;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.secret}")
     private String SecretKey ;
 
-    @Override
-    public UserDetails authenticate(String email, String password) {
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-        System.out.println("RAW PASSWORD: " + password);
-        System.out.println("DB PASSWORD: " + userDetails.getPassword());
-
-        boolean matches = passwordEncoder.matches(password, userDetails.getPassword());
-        System.out.println("PASSWORD MATCHES: " + matches);
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // Built once : the key and parser are immutable and safe to share between request threads
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokens;
+    private volatile String missingUserHash;
+    private Timer parseTimer;
+
+    @PostConstruct
+    void initJwt() {
+        signingKey = Keys.hmacShaKeyFor(SecretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new VerifiedTokenCache(verifiedCacheSize);
+        // Signature checks only : tokens answered from the verified cache skip it and are not timed
+        parseTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT signature verification and claims parsing")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMillis(100))
+                .register(meterRegistry);
+    }
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email, password)
-        );
+    // One user lookup and one hash check. An unknown email is checked against a dummy hash so both
+    // outcomes take the same time; a hash from an older policy is replaced while the password is at hand.
+    // Hashing itself runs on the bounded PasswordHashing pool, never on the request thread.
+    @Override
+    public UserDetails authenticate(String email, String password, String clientAddress) {
+        Optional<Entity_User> found = userRepository.findByEmail(email);
+        if (found.isEmpty() || found.get().getPassword() == null) {
+            passwordHashing.run(clientAddress, email, () -> passwordEncoder.matches(password, missingUserHash()));
+            throw new BadCredentialsException("Bad credentials");
+        }
+        Entity_User user = found.get();
+        String stored = user.getPassword();
+        String upgraded = passwordHashing.run(clientAddress, email, () -> {
+            if (!passwordEncoder.matches(password, stored)) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return passwordEncoder.upgradeEncoding(stored) ? passwordEncoder.encode(password) : null;
+        });
+        if (upgraded != null && userRepository.updatePasswordHash(user.getId(), stored, upgraded) == 1) {
+            user.setPassword(upgraded);
+        }
+        return new BlogUserDetails(user);
+    }
 
-        return userDetails;
+    private String missingUserHash() {
+        String hash = missingUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            missingUserHash = hash;
+        }
+        return hash;
     }
 
 
-    public void register(String email, String password , String username) {
+    public void register(String email, String password , String username, String clientAddress) {
 
         if (userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("User already exists");
@@ -61,7 +117,7 @@ public class Service_Auth_Impl implements Service_Auth{
 
         Entity_User user = Entity_User.builder()
                 .email(email)
-                .password(passwordEncoder.encode(password))
+                .password(passwordHashing.run(clientAddress, email, () -> passwordEncoder.encode(password)))
                 .username(username)
                 .auth0Id("local_" + email)
                 .build();
@@ -73,35 +129,89 @@ public class Service_Auth_Impl implements Service_Auth{
 
     private long jwtExpiryms = 86400000L;
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLES = "roles";
+
     @Override
     public String generateToken(UserDetails userDetails) {
+        BlogPrincipal principal = principalOf(userDetails);
+
+        // Everything the request path needs about the user travels in the token
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, principal.getId().toString());
+        claims.put(CLAIM_NAME, principal.getName());
+        claims.put(CLAIM_ROLES, principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+
         return Jwts.builder()
-                .setSubject(userDetails.getUsername())
+                .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(principal.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpiryms))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(
-                SecretKey.getBytes(StandardCharsets.UTF_8)
-        );
+    // Login hands over BlogUserDetails (the loaded entity), already authenticated requests a BlogPrincipal
+    private static BlogPrincipal principalOf(UserDetails userDetails) {
+        if (userDetails instanceof BlogPrincipal principal) {
+            return principal;
+        }
+        if (userDetails instanceof BlogUserDetails blogUser) {
+            return BlogPrincipal.from(blogUser);
+        }
+        throw new IllegalArgumentException("Expected BlogPrincipal or BlogUserDetails, got "
+                + (userDetails == null ? "null" : userDetails.getClass().getName()));
     }
 
     public UserDetails validateToken(String token){
-        String username = extractUsername(token);
-        return userDetailsService.loadUserByUsername(username);
+        Claims claims = extractClaims(token);
+        if (tokenDenylist.isRevoked(claims.getId())) {
+            throw new BadCredentialsException("Token revoked");
+        }
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        if (userId == null) {
+            // Issued before user claims were added : resolve once from the DB until it expires
+            return principalOf(userDetailsService.loadUserByUsername(claims.getSubject()));
+        }
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        List<GrantedAuthority> authorities = roles == null
+                ? List.of()
+                : roles.stream().map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString())).toList();
+        return new BlogPrincipal(
+                UUID.fromString(userId),
+                claims.getSubject(),
+                claims.get(CLAIM_NAME, String.class),
+                authorities);
     }
 
-    private String extractUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Logout : the token stops working now rather than at its expiry. Tokens issued before token ids
+    // existed carry no jti and simply run out
+    public void revokeToken(String token) {
+        Claims claims = extractClaims(token);
+        tokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime());
+        verifiedTokens.invalidate(token);
+    }
 
-        return claims.getSubject();
+    // Revocation by id alone : kept for the longest lifetime a token can have
+    public void revokeTokenId(String jti) {
+        if (jti == null || jti.isBlank() || jti.length() > 64) {
+            throw new IllegalArgumentException("Invalid token id");
+        }
+        tokenDenylist.revoke(jti, System.currentTimeMillis() + jwtExpiryms);
+    }
+
+    private Claims extractClaims(String token) {
+        Claims claims = verifiedTokens.get(token);
+        if (claims == null) {
+            Timer.Sample sample = Timer.start();
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            sample.stop(parseTimer);
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
     }
 }
@@ -1,7 +1,9 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.Enum_Post;
 import com.example.demo.domain.entity.Entity_Category;
 import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.projections.NamedPostCount;
 import com.example.demo.repository.Repository_Category;
 import com.example.demo.repository.Repository_Tag;
 import jakarta.persistence.EntityNotFoundException;
@@ -18,9 +20,11 @@ import java.util.UUID;
 public class Service_Category {
     private final Repository_Category categoryRepository;
     private final Repository_Tag tagRepository ;
+    private final PostDetailCache postDetailCache;
+    private final ContentVersions contentVersions;
 
-    public List<Entity_Category> listCategories() {
-        return categoryRepository.findAllWithPosts();
+    public List<NamedPostCount> listCategories() {
+        return categoryRepository.findAllWithPostCount(Enum_Post.PUBLISHED);
     }
 
     @Transactional
@@ -28,6 +32,7 @@ public class Service_Category {
         if(categoryRepository.existsByName(category.getName())){
             throw new IllegalArgumentException("Category Already Present : " + category.getName());
         }
+        contentVersions.bump(ContentVersions.Kind.CATEGORIES);
         return  categoryRepository.save(category);
     }
 
@@ -39,6 +44,7 @@ public class Service_Category {
                 throw new  IllegalStateException("Category contains posts related to it !!!");
             }
             categoryRepository.delete(categoryyy.get());
+            contentVersions.bump(ContentVersions.Kind.CATEGORIES);
         }
     }
 
@@ -52,6 +58,9 @@ public class Service_Category {
         }
 
         category.setName(newName);
+        // Cached post bodies embed the category name
+        postDetailCache.clearAfterCommit();
+        contentVersions.bump(ContentVersions.Kind.CATEGORIES);
         return categoryRepository.save(category);
     }
 
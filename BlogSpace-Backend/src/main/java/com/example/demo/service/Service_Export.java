@@ -0,0 +1,158 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.converters.ContentCodec;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Whole-blog backup as gzip'd JSON lines, one {"type": ...} object per row, in restore order :
+// users (public fields only), categories, tags, posts, then post/tag links.
+// Rows come from forward-only cursors of a read-only stateless session, so nothing is cached or kept.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class Service_Export {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+
+    private interface RowWriter {
+        void write(JsonGenerator json, Object[] row) throws IOException;
+    }
+
+    public void export(OutputStream target) throws IOException {
+        long started = System.nanoTime();
+        CountingOutputStream compressed = new CountingOutputStream(target);
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE) {
+            {
+                // Export speed is bound by compression; level 1 keeps most of the size win
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        CountingOutputStream raw = new CountingOutputStream(gzip);
+        long rows = 0;
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            session.doWork(connection -> connection.setReadOnly(true));
+            session.beginTransaction();
+            JsonGenerator json = objectMapper.getFactory().createGenerator(raw);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            rows += section(session, json, "user",
+                    "SELECT u.id, u.username, u.createdAt FROM Entity_User u",
+                    (out, row) -> {
+                        out.writeStringField("id", string(row[0]));
+                        out.writeStringField("username", (String) row[1]);
+                        out.writeStringField("createdAt", string(row[2]));
+                    });
+            rows += section(session, json, "category",
+                    "SELECT c.id, c.name FROM Entity_Category c",
+                    (out, row) -> {
+                        out.writeStringField("id", string(row[0]));
+                        out.writeStringField("name", (String) row[1]);
+                    });
+            rows += section(session, json, "tag",
+                    "SELECT t.id, t.name FROM Entity_Tags t",
+                    (out, row) -> {
+                        out.writeStringField("id", string(row[0]));
+                        out.writeStringField("name", (String) row[1]);
+                    });
+            rows += section(session, json, "post",
+                    """
+                    SELECT p.id, p.title, p.storedContent, p.contentCompressed, p.status, p.author.id,
+                           p.category.id, p.readingTime, p.createdAt, p.updatedAt
+                    FROM Entity_Post p
+                    """,
+                    (out, row) -> {
+                        out.writeStringField("id", string(row[0]));
+                        out.writeStringField("title", (String) row[1]);
+                        out.writeStringField("content", ContentCodec.decode((String) row[2], (byte[]) row[3]));
+                        out.writeStringField("status", string(row[4]));
+                        out.writeStringField("authorId", string(row[5]));
+                        out.writeStringField("categoryId", string(row[6]));
+                        out.writeNumberField("readingTime", row[7] == null ? 0 : (Integer) row[7]);
+                        out.writeStringField("createdAt", string(row[8]));
+                        out.writeStringField("updatedAt", string(row[9]));
+                    });
+            rows += section(session, json, "post_tag",
+                    "SELECT p.id, t.id FROM Entity_Post p JOIN p.tags t",
+                    (out, row) -> {
+                        out.writeStringField("postId", string(row[0]));
+                        out.writeStringField("tagId", string(row[1]));
+                    });
+
+            json.flush();
+            gzip.finish();
+            session.getTransaction().commit();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info("Export wrote {} rows in {} s : {} MB of JSON ({} MB/s), {} MB gzip'd, {} rows/s",
+                rows, String.format("%.1f", seconds),
+                String.format("%.1f", raw.count / 1e6), String.format("%.1f", raw.count / 1e6 / seconds),
+                String.format("%.1f", compressed.count / 1e6), Math.round(rows / seconds));
+    }
+
+    private long section(StatelessSession session, JsonGenerator json, String type, String hql, RowWriter writer)
+            throws IOException {
+        long count = 0;
+        try (ScrollableResults<Object[]> rows = session.createSelectionQuery(hql, Object[].class)
+                .setFetchSize(FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                Object[] row = rows.get();
+                json.writeStartObject();
+                json.writeStringField("type", type);
+                writer.write(json, row);
+                json.writeEndObject();
+                json.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String string(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream target;
+        private long count;
+
+        CountingOutputStream(OutputStream target) {
+            this.target = target;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target.flush();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.dtos.Dto_ImportPost;
+import com.example.demo.domain.dtos.Dto_ImportReport;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Tag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+// Bulk import of posts sent as JSON lines. Lines are parsed and checked one by one, then inserted
+// batchSize at a time in one transaction : JDBC batched inserts, one flush and clear per batch.
+// Categories and tags are resolved by name through maps filled once per unseen name, and created
+// when missing. A batch rejected by the database is replayed row by row, so a bad record only
+// costs its own line.
+@Slf4j
+@Service
+public class Service_Import {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_TAGS = 10;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final Repository_Category repository_category;
+    private final Repository_Tag repository_tag;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ContentVersions contentVersions;
+    private final PostSearchIndex searchIndex;
+    private final int batchSize;
+
+    public Service_Import(Repository_Category repository_category,
+                          Repository_Tag repository_tag,
+                          EntityManager entityManager,
+                          TransactionTemplate transactionTemplate,
+                          ObjectMapper objectMapper,
+                          ContentVersions contentVersions,
+                          PostSearchIndex searchIndex,
+                          @Value("${posts.import.batch-size:500}") int batchSize) {
+        this.repository_category = repository_category;
+        this.repository_tag = repository_tag;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.contentVersions = contentVersions;
+        this.searchIndex = searchIndex;
+        this.batchSize = batchSize;
+    }
+
+    private record Line(long number, Dto_ImportPost post) {
+    }
+
+    // State of one import call; the name maps only hold rows known to be committed
+    private final class Run {
+        private final UUID authorId;
+        private final Map<String, UUID> categoryIds = new HashMap<>();
+        private final Map<String, UUID> tagIds = new HashMap<>();
+        private final List<Dto_ImportReport.ImportError> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+        private boolean createdCategories;
+        private boolean createdTags;
+
+        Run(UUID authorId) {
+            this.authorId = authorId;
+        }
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(Dto_ImportReport.ImportError.builder().line(line).message(message).build());
+            }
+        }
+    }
+
+    public Dto_ImportReport importPosts(UUID authorId, InputStream ndjson) throws IOException {
+        long started = System.nanoTime();
+        Run run = new Run(authorId);
+        List<Line> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long number = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            number++;
+            if (text.isBlank()) {
+                continue;
+            }
+            Dto_ImportPost post;
+            try {
+                post = objectMapper.readValue(text, Dto_ImportPost.class);
+            } catch (JsonProcessingException e) {
+                run.fail(number, "Malformed JSON : " + e.getOriginalMessage());
+                continue;
+            }
+            String problem = validate(post);
+            if (problem != null) {
+                run.fail(number, problem);
+                continue;
+            }
+            batch.add(new Line(number, post));
+            if (batch.size() == batchSize) {
+                insert(run, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(run, batch);
+        }
+
+        if (run.imported > 0) {
+            contentVersions.bump(ContentVersions.Kind.POSTS);
+        }
+        if (run.createdCategories) {
+            contentVersions.bump(ContentVersions.Kind.CATEGORIES);
+        }
+        if (run.createdTags) {
+            contentVersions.bump(ContentVersions.Kind.TAGS);
+        }
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        long rowsPerSecond = Math.round(run.imported / (elapsedNanos / 1e9));
+        log.info("Imported {} posts ({} rejected) in {} ms, {} rows/s",
+                run.imported, run.failed, elapsedNanos / 1_000_000, rowsPerSecond);
+        return Dto_ImportReport.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(run.errors)
+                .build();
+    }
+
+    // Same rules as Create_Post_Dto where they apply, plus what the columns would reject
+    private static String validate(Dto_ImportPost post) {
+        if (post.getTitle() == null || post.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (post.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "Title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (post.getContent() == null || post.getContent().isBlank()) {
+            return "Content is required";
+        }
+        if (post.getCategory() == null || post.getCategory().isBlank()) {
+            return "Category is required";
+        }
+        if (post.getStatus() == null) {
+            return "Status is required";
+        }
+        if (post.getTags() == null) {
+            post.setTags(new HashSet<>());
+        }
+        if (post.getTags().size() > MAX_TAGS) {
+            return "Maximum " + MAX_TAGS + " tags allowed";
+        }
+        for (String tag : post.getTags()) {
+            if (tag == null || tag.isBlank() || tag.length() > MAX_TITLE_LENGTH) {
+                return "Invalid tag name : " + tag;
+            }
+        }
+        return null;
+    }
+
+    private void insert(Run run, List<Line> lines) {
+        Map<String, UUID> newCategories = new HashMap<>();
+        Map<String, UUID> newTags = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // A retried transaction starts from what is committed
+                newCategories.clear();
+                newTags.clear();
+                persist(run, lines, newCategories, newTags);
+            });
+        } catch (RuntimeException e) {
+            if (lines.size() == 1) {
+                run.fail(lines.get(0).number(), "Rejected by the database : " + rootMessage(e));
+                return;
+            }
+            for (Line line : lines) {
+                insert(run, List.of(line));
+            }
+            return;
+        }
+        run.categoryIds.putAll(newCategories);
+        run.tagIds.putAll(newTags);
+        run.createdCategories |= !newCategories.isEmpty();
+        run.createdTags |= !newTags.isEmpty();
+        run.imported += lines.size();
+    }
+
+    private void persist(Run run, List<Line> lines, Map<String, UUID> newCategories, Map<String, UUID> newTags) {
+        Set<String> categoryNames = new HashSet<>();
+        Set<String> tagNames = new HashSet<>();
+        for (Line line : lines) {
+            categoryNames.add(line.post().getCategory());
+            tagNames.addAll(line.post().getTags());
+        }
+        resolveCategories(run, categoryNames, newCategories);
+        resolveTags(run, tagNames, newTags);
+
+        Entity_User author = entityManager.getReference(Entity_User.class, run.authorId);
+        for (Line line : lines) {
+            Dto_ImportPost source = line.post();
+            UUID categoryId = run.categoryIds.getOrDefault(source.getCategory(), newCategories.get(source.getCategory()));
+            Set<Entity_Tags> tags = new HashSet<>();
+            for (String tag : source.getTags()) {
+                tags.add(entityManager.getReference(Entity_Tags.class, run.tagIds.getOrDefault(tag, newTags.get(tag))));
+            }
+            Entity_Post post = Entity_Post.builder()
+                    .title(source.getTitle())
+                    .content(source.getContent())
+                    .status(source.getStatus())
+                    .author(author)
+                    .category(entityManager.getReference(Entity_Category.class, categoryId))
+                    .tags(tags)
+                    .createdAt(source.getCreatedAt())
+                    .updatedAt(source.getCreatedAt())
+                    .build();
+            Service_Posts.applyAnalysis(post, source.getContent());
+            // The UUID is generated in memory here, so inserts stay batchable (no identity round trip)
+            entityManager.persist(post);
+            if (post.getStatus() == Enum_Post.PUBLISHED) {
+                searchIndex.indexAfterCommit(post.getId(), post.getTitle(), post.getContent());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // One query per batch for names not seen before; the rest are created in this transaction
+    private void resolveCategories(Run run, Set<String> names, Map<String, UUID> created) {
+        names.removeAll(run.categoryIds.keySet());
+        if (names.isEmpty()) {
+            return;
+        }
+        for (Entity_Category category : repository_category.findByNameIn(names)) {
+            run.categoryIds.put(category.getName(), category.getId());
+            names.remove(category.getName());
+        }
+        for (String name : names) {
+            Entity_Category category = Entity_Category.builder().name(name).posts(new ArrayList<>()).build();
+            entityManager.persist(category);
+            created.put(name, category.getId());
+        }
+    }
+
+    private void resolveTags(Run run, Set<String> names, Map<String, UUID> created) {
+        names.removeAll(run.tagIds.keySet());
+        if (names.isEmpty()) {
+            return;
+        }
+        for (Entity_Tags tag : repository_tag.findByNameIn(names)) {
+            run.tagIds.put(tag.getName(), tag.getId());
+            names.remove(tag.getName());
+        }
+        for (String name : names) {
+            Entity_Tags tag = Entity_Tags.builder().name(name).posts(new HashSet<>()).build();
+            entityManager.persist(tag);
+            created.put(name, tag.getId());
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
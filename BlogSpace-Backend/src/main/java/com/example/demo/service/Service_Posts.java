@@ -2,58 +2,147 @@ package com.example.demo.service;
 
 import com.example.demo.domain.CreatePostRequest;
 import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.PostCursor;
+import com.example.demo.domain.PostFilter;
 import com.example.demo.domain.UpdatePostRequest;
+import com.example.demo.domain.dtos.Dto_PostSummary;
+import com.example.demo.domain.dtos.Dto_SearchHit;
+import com.example.demo.domain.dtos.Dto_SearchPage;
+import com.example.demo.domain.dtos.Dto_Posts;
+import com.example.demo.domain.dtos.Dto_Tag;
 import com.example.demo.domain.dtos.Update_Post_Dto;
 import com.example.demo.domain.entity.Entity_Category;
 import com.example.demo.domain.entity.Entity_Post;
 import com.example.demo.domain.entity.Entity_Tags;
 import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.domain.mappers.PostMapper;
+import com.example.demo.domain.projections.PostSummary;
+import com.example.demo.domain.projections.PostTagRow;
+import com.example.demo.domain.projections.PostText;
 import com.example.demo.repository.Repository_Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class Service_Posts {
 
-    private static final double WORDS_PER_MINUTE = 200;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 1000;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SEARCH_LOAD_BATCH = 1000;
+    private static final int STREAM_CHUNK = 100;
     private final Tag_Service tagservice;
     private final Service_Category service_category;
     private final Repository_Post  repository_post;
+    private final PostMapper postMapper;
+    private final PostDetailCache postDetailCache;
+    private final ObjectMapper objectMapper;
+    private final ContentVersions contentVersions;
+    private final PostSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
 
-    public List<Entity_Post> getAllPosts(UUID categoryId, UUID tagId) {
-        if (categoryId != null && tagId != null) {
-            return service_category.findCategoryByIdOptional(categoryId)
-                    .flatMap(category -> tagservice.getTagByIdOptional(tagId)  // 👈 tagservice not service_category
-                            .map(tag -> repository_post.findAllByStatusAndCategoryAndTags(
-                                    Enum_Post.PUBLISHED, category, tag)))
-                    .orElse(List.of());
+    // One extra row tells the caller whether another page exists
+    public List<Dto_PostSummary> getAllPosts(PostFilter filter, PostCursor after, int pageSize) {
+        filter.validate();
+        return toSummaries(repository_post.findPage(filter, after, pageSize + 1));
+    }
+
+    public List<Dto_PostSummary> getDraftsPosts(UUID authorId, PostCursor after, int pageSize){
+        PostFilter drafts = PostFilter.builder().authorId(authorId).status(Enum_Post.DRAFT).build();
+        return toSummaries(repository_post.findPage(drafts, after, pageSize + 1));
+    }
+
+    // Tags for the whole page come from one extra query instead of one per post
+    private List<Dto_PostSummary> toSummaries(List<PostSummary> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
         }
-        if (categoryId != null) {
-            return service_category.findCategoryByIdOptional(categoryId)
-                    .map(category -> repository_post.findAllByStatusAndCategory(
-                            Enum_Post.PUBLISHED, category))
-                    .orElse(List.of());
+        Map<UUID, Set<Dto_Tag>> tagsByPost = new HashMap<>();
+        List<UUID> postIds = rows.stream().map(PostSummary::getId).toList();
+        for (PostTagRow row : repository_post.findTagRowsByPostIds(postIds)) {
+            tagsByPost.computeIfAbsent(row.getPostId(), id -> new HashSet<>()).add(postMapper.toTag(row));
         }
-        if (tagId != null) {
-            return tagservice.getTagByIdOptional(tagId)  // 👈 tagservice
-                    .map(tag -> repository_post.findAllByStatusAndTagsContaining(
-                            Enum_Post.PUBLISHED, tag))
-                    .orElse(List.of());
+        return rows.stream().map(row -> {
+            Dto_PostSummary summary = postMapper.toSummary(row);
+            summary.setTags(tagsByPost.getOrDefault(row.getId(), Set.of()));
+            return summary;
+        }).toList();
+    }
+
+    // NDJSON feed : rows come off a database cursor and are mapped, written and detached one chunk at a
+    // time, so memory stays flat whatever the number of posts
+    public void streamPosts(PostFilter filter, Consumer<Dto_Posts> sink) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try (Stream<Entity_Post> posts = repository_post.streamMatching(filter)) {
+                List<Entity_Post> chunk = new ArrayList<>(STREAM_CHUNK);
+                Iterator<Entity_Post> rows = posts.iterator();
+                while (rows.hasNext()) {
+                    chunk.add(rows.next());
+                    if (chunk.size() == STREAM_CHUNK || !rows.hasNext()) {
+                        writeChunk(chunk, sink);
+                        chunk.clear();
+                        entityManager.clear();
+                    }
+                }
+            }
+        });
+    }
+
+    private void writeChunk(List<Entity_Post> chunk, Consumer<Dto_Posts> sink) {
+        Map<UUID, Set<Dto_Tag>> tagsByPost = new HashMap<>();
+        for (PostTagRow row : repository_post.findTagRowsByPostIds(chunk.stream().map(Entity_Post::getId).toList())) {
+            tagsByPost.computeIfAbsent(row.getPostId(), id -> new HashSet<>()).add(postMapper.toTag(row));
+        }
+        for (Entity_Post post : chunk) {
+            Dto_Posts dto = postMapper.toDtoWithoutTags(post);
+            dto.setTags(tagsByPost.getOrDefault(post.getId(), Set.of()));
+            fillContentHtml(dto, post);
+            sink.accept(dto);
         }
-        return repository_post.findAllByStatus(Enum_Post.PUBLISHED);
     }
 
-    public List<Entity_Post> getDraftsPosts(Entity_User user){
-        return repository_post.findAllByAuthorAndStatus(user ,  Enum_Post.DRAFT);
+    // Rows not reached by the analysis backfill yet
+    private static void fillContentHtml(Dto_Posts dto, Entity_Post post) {
+        if (dto.getContentHtml() == null) {
+            dto.setContentHtml(ContentAnalyzer.analyze(post.getContent()).sanitizedHtml());
+        }
+    }
+
+    public static int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(requested, MAX_PAGE_SIZE);
     }
 
     public Entity_Post createPost(Entity_User user , CreatePostRequest cpr){
@@ -62,7 +151,7 @@ public class Service_Posts {
         post.setContent(cpr.getContent());
         post.setStatus(cpr.getStatus());
         post.setAuthor(user);
-        post.setReadingTime(calculateReadingTime((cpr.getContent())));
+        applyAnalysis(post, cpr.getContent());
         Entity_Category category = service_category.findCategoryById(cpr.getCategoryId());
         post.setCategory(category);
 
@@ -70,27 +159,44 @@ public class Service_Posts {
         List<Entity_Tags> tags = tagservice.getTagsByIds(tagIDs);
         post.setTags(new HashSet<>(tags));
 
-        return repository_post.save(post);
+        Entity_Post saved = repository_post.save(post);
+        contentVersions.bump(ContentVersions.Kind.POSTS);
+        if (saved.getStatus() == Enum_Post.PUBLISHED) {
+            searchIndex.indexAfterCommit(saved.getId(), saved.getTitle(), saved.getContent());
+        }
+        return saved;
     }
 
-    private Integer calculateReadingTime(String content){
-        if(content == null ||  content.isEmpty()){
-            return 0;
-        }
-        int wordCount = content.trim().split("\\s+").length;
-        return (int) Math.ceil((double) wordCount / WORDS_PER_MINUTE);
+    // Derived fields are computed once here, at save time, instead of on every read
+    static void applyAnalysis(Entity_Post post, String content) {
+        ContentAnalyzer.Analysis analysis = ContentAnalyzer.analyze(content);
+        post.setWordCount(analysis.wordCount());
+        post.setReadingTime(analysis.readingTime());
+        post.setExcerpt(analysis.excerpt());
+        post.setContentHash(analysis.contentHash());
+        post.setContentHtml(analysis.sanitizedHtml());
+        post.setAnalysisVersion(ContentAnalyzer.VERSION);
     }
 
     @Transactional
     public Entity_Post updatePost(UUID id , UpdatePostRequest updatePostRequest){
-        Entity_Post existingPost = repository_post.findById(id).
+        Entity_Post existingPost = repository_post.findWithDetailsById(id).
                 orElseThrow(() ->  new EntityNotFoundException("Post does not exist with id : " + id));
 
+        postDetailCache.invalidateAfterCommit(id);
+        contentVersions.bump(ContentVersions.Kind.POSTS);
         existingPost.setTitle(updatePostRequest.getTitle());
         String postContent = updatePostRequest.getContent() ;
         existingPost.setContent(postContent);
         existingPost.setStatus(updatePostRequest.getStatus());
-        existingPost.setReadingTime(calculateReadingTime(postContent));
+        applyAnalysis(existingPost, postContent);
+        // Also covers edits that only touch tags, which would not mark the row dirty on their own
+        existingPost.setUpdatedAt(LocalDateTime.now());
+        if (existingPost.getStatus() == Enum_Post.PUBLISHED) {
+            searchIndex.indexAfterCommit(id, existingPost.getTitle(), postContent);
+        } else {
+            searchIndex.removeAfterCommit(id);
+        }
 
         UUID updatePostRequestCategoryId = updatePostRequest.getCategoryId();
         if(!existingPost.getCategory().getId().equals(updatePostRequestCategoryId)){
@@ -107,11 +213,109 @@ public class Service_Posts {
     }
 
     public Entity_Post getPost(UUID id){
-        return  repository_post.findById(id)
+        return  repository_post.findWithDetailsById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Post does not exist with id : " + id));
     }
 
+    // GET /posts/{id} : served from the off-heap cache when possible, otherwise rendered on demand
+    public PostDetail getPostDetail(UUID id) {
+        PostDetail cached = postDetailCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = postDetailCache.stamp();
+        Entity_Post post = getPost(id);
+        String surrogateKeys = surrogateKeys(post);
+        return new PostDetail(id, post.getUpdatedAt(), surrogateKeys, () -> {
+            Dto_Posts dto = postMapper.toDto(post);
+            fillContentHtml(dto, post);
+            try {
+                return postDetailCache.put(id, post.getUpdatedAt(), surrogateKeys, objectMapper.writeValueAsBytes(dto), stamp);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize post " + id, e);
+            }
+        });
+    }
+
+    // Edge-cache purge keys : the post itself, its category and each of its tags
+    private String surrogateKeys(Entity_Post post) {
+        StringBuilder keys = new StringBuilder("post-").append(post.getId())
+                .append(" category-").append(post.getCategory().getId());
+        for (Entity_Tags tag : post.getTags()) {
+            keys.append(" tag-").append(tag.getId());
+        }
+        return keys.toString();
+    }
+
     public void deletePost(UUID id){
         repository_post.delete(getPost(id));
+        postDetailCache.invalidateAfterCommit(id);
+        contentVersions.bump(ContentVersions.Kind.POSTS);
+        searchIndex.removeAfterCommit(id);
+    }
+
+    // Ranked by the in-memory index, then one query for the texts of the returned page only
+    public Dto_SearchPage searchPosts(String query, int page, int pageSize) {
+        if ((long) page * pageSize + pageSize > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_RESULTS + " hits");
+        }
+        PostSearchIndex.Hits ranked = searchIndex.search(PostSearchIndex.queryTerms(query), page * pageSize, pageSize);
+        Map<UUID, PostText> texts = new HashMap<>();
+        if (!ranked.hits().isEmpty()) {
+            List<UUID> ids = ranked.hits().stream().map(PostSearchIndex.Hit::id).toList();
+            for (PostText text : repository_post.findTextByStatusAndIdIn(Enum_Post.PUBLISHED, ids)) {
+                texts.put(text.getId(), text);
+            }
+        }
+        List<Dto_SearchHit> hits = ranked.hits().stream()
+                .filter(hit -> texts.containsKey(hit.id()))
+                .map(hit -> {
+                    PostText text = texts.get(hit.id());
+                    return Dto_SearchHit.builder()
+                            .id(hit.id())
+                            .title(text.getTitle())
+                            .highlightedTitle(SearchText.highlight(text.getTitle(), ranked.terms()))
+                            .snippet(SearchText.snippet(SearchText.plainText(text.getContent()), ranked.terms(), SNIPPET_LENGTH))
+                            .score(hit.score())
+                            .createdAt(text.getCreatedAt())
+                            .build();
+                }).toList();
+        return Dto_SearchPage.builder()
+                .hits(hits)
+                .total(ranked.total())
+                .page(page)
+                .limit(pageSize)
+                .build();
+    }
+
+    // Startup bulk load : batches are read in id order while the previous one is analyzed in parallel
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildSearchIndex() {
+        long started = System.nanoTime();
+        searchIndex.beginLoad();
+        try {
+            UUID after = new UUID(0, 0);
+            CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+            while (true) {
+                List<PostText> rows = repository_post.findTextPageByStatus(
+                        Enum_Post.PUBLISHED, after, Limit.of(SEARCH_LOAD_BATCH));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                after = rows.get(rows.size() - 1).getId();
+                pending.join();
+                pending = CompletableFuture.runAsync(() -> searchIndex.load(rows.parallelStream()
+                        .map(row -> PostSearchIndex.analyze(row.getId(), row.getTitle(), row.getContent()))
+                        .toList()));
+                if (rows.size() < SEARCH_LOAD_BATCH) {
+                    break;
+                }
+            }
+            pending.join();
+        } finally {
+            searchIndex.endLoad();
+        }
+        log.info("Search index built with {} posts in {} ms",
+                searchIndex.size(), (System.nanoTime() - started) / 1_000_000);
     }
 }
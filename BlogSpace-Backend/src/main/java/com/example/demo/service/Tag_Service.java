@@ -1,7 +1,10 @@
 package com.example.demo.service;
 
+import com.example.demo.domain.Enum_Post;
 import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.projections.NamedPostCount;
 import com.example.demo.repository.Repository_Tag;
+import com.example.demo.repository.TagUpsertRepository;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +12,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -17,32 +19,21 @@ import java.util.stream.Collectors;
 public class Tag_Service {
     @Autowired
     private final Repository_Tag repository_tag;
+    private final ContentVersions contentVersions;
 
-    public List<Entity_Tags> getTags(){
-        return repository_tag.findAllWithPostCount();
+    public List<NamedPostCount> getTags(){
+        return repository_tag.findAllWithPostCount(Enum_Post.PUBLISHED);
     }
 
-    public List<Entity_Tags> createTags(Set<String> tagNames){
-        List<Entity_Tags> existingTags = repository_tag.findByNameIn(tagNames);
-        Set<String> existingNames = existingTags.stream()
-                .map(Entity_Tags :: getName)
-                .collect(Collectors.toSet());
-
-        List<Entity_Tags> newTags = tagNames.stream()
-                .filter(name -> !existingTags.contains(name))
-                .map(name -> Entity_Tags.builder()
-                        .name(name)
-                        .posts(new HashSet<>()).build())
-                        .toList();
-
-                List<Entity_Tags> savedTags = new ArrayList<>();
-                    if(!newTags.isEmpty()){
-                        savedTags = repository_tag.saveAll(newTags);
-                    }
-                    savedTags.addAll(existingTags);
-
-                    return savedTags ;
-                }
+    // One statement creates the missing tags and returns all requested ones, so concurrent authors
+    // creating the same names neither fail on the unique constraint nor get partial results
+    public List<NamedPostCount> createTags(Set<String> tagNames){
+        List<TagUpsertRepository.UpsertedTag> tags = repository_tag.upsertByNames(tagNames);
+        if (tags.stream().anyMatch(TagUpsertRepository.UpsertedTag::isCreated)) {
+            contentVersions.bump(ContentVersions.Kind.TAGS);
+        }
+        return List.copyOf(tags);
+    }
 
 
         public void delete_Tags(UUID id){
@@ -52,6 +43,7 @@ public class Tag_Service {
                 throw new IllegalStateException("Cannot Delete tag with posts");
             }
             repository_tag.deleteById(id);
+            contentVersions.bump(ContentVersions.Kind.TAGS);
         });
         }
 
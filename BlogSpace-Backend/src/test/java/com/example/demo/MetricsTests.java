@@ -0,0 +1,67 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The Prometheus scrape carries what the dashboards read : per-handler latency histograms,
+// Hibernate counters, pool acquisition time and the auth timings
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:metrics")
+class MetricsTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PrometheusMeterRegistry registry;
+
+	@Test
+	void scrapeCoversRequestsJpaPoolAndAuth() throws Exception {
+		String token = objectMapper.readTree(mockMvc.perform(post("/api/v1/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"user@test.com\",\"password\":\"password\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()).get("token").asText();
+		mockMvc.perform(get("/api/v1/posts")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/tags")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/posts/drafts").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+				.andExpect(status().isOk());
+
+		String scrape = registry.scrape();
+
+		assertContains(scrape, "http_server_requests_seconds_bucket{");
+		assertContains(scrape, "handler=\"Controller_Post.getAllPosts\"");
+		assertContains(scrape, "handler=\"Controller_Tag.");
+		assertContains(scrape, "handler=\"Controller_Auth.login\"");
+		assertContains(scrape, "hibernate_statements_total");
+		assertContains(scrape, "hibernate_entities_loads_total");
+		assertContains(scrape, "hibernate_collections_fetches_total");
+		assertContains(scrape, "hikaricp_connections_acquire_seconds_bucket");
+		assertContains(scrape, "auth_jwt_verify_seconds_count");
+		assertContains(scrape, "auth_password_hash_seconds_count");
+		assertContains(scrape, "posts_detail_cache_requests_total");
+	}
+
+	private static void assertContains(String scrape, String expected) {
+		assertTrue(scrape.contains(expected), () -> "Missing from scrape : " + expected);
+	}
+}
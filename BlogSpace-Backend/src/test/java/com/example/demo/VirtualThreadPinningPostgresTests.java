@@ -0,0 +1,35 @@
+package com.example.demo;
+
+import jdk.jfr.consumer.RecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The same request paths over the PostgreSQL driver, which locks with ReentrantLock : no pinning
+// event is excused
+class VirtualThreadPinningPostgresTests extends VirtualThreadPinningTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		PostgresTestDatabase.register(registry, "pinning");
+	}
+
+	@Override
+	protected boolean pinnedByTestDatabase(RecordedEvent event) {
+		return false;
+	}
+
+	@Test
+	void runsOnPostgres() {
+		assertEquals("PostgreSQL", jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+				connection.getMetaData().getDatabaseProductName()));
+	}
+}
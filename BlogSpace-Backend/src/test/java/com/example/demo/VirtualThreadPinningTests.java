@@ -0,0 +1,155 @@
+package com.example.demo;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Drives the feed, post detail, login and JWT-authenticated paths from many virtual threads over a
+// two-connection pool, so callers really park, and fails on any JFR pinning event. On H2 the events
+// H2 itself causes (its synchronized session) are tolerated, production runs on PostgreSQL; the
+// Postgres subclass tolerates none.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:pinning",
+		"spring.datasource.hikari.maximum-pool-size=2",
+		"spring.threads.virtual.enabled=true",
+		"security.password.max-pending-per-client=" + VirtualThreadPinningTests.CALLERS,
+		"security.password.max-pending-per-account=" + VirtualThreadPinningTests.CALLERS,
+		"security.password.hash-queue=" + VirtualThreadPinningTests.CALLERS
+})
+class VirtualThreadPinningTests {
+
+	static final int CALLERS = 64;
+	private static final String LOGIN = "{\"email\":\"user@test.com\",\"password\":\"password\"}";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+
+	@Test
+	void requestPathsDoNotPinCarrierThreads() throws Exception {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category category = repositoryCategory.save(
+				Entity_Category.builder().name("Pinning").posts(new ArrayList<>()).build());
+		Entity_Post saved = repositoryPost.save(Entity_Post.builder()
+				.title("Pinning")
+				.content("<p>Carrier threads stay free while this post is read.</p>")
+				.status(Enum_Post.PUBLISHED)
+				.author(author)
+				.category(category)
+				.tags(new HashSet<>())
+				.readingTime(1)
+				.build());
+		String token = objectMapper.readTree(mockMvc.perform(post("/api/v1/auth/login")
+						.contentType(MediaType.APPLICATION_JSON).content(LOGIN))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()).get("token").asText();
+
+		Queue<RecordedEvent> pinned = new ConcurrentLinkedQueue<>();
+		try (RecordingStream recording = new RecordingStream();
+			 ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+			recording.startAsync();
+
+			List<Future<?>> calls = new ArrayList<>();
+			for (int i = 0; i < CALLERS; i++) {
+				int path = i % 4;
+				calls.add(callers.submit(() -> {
+					switch (path) {
+						case 0 -> mockMvc.perform(get("/api/v1/posts")).andExpect(status().isOk());
+						case 1 -> mockMvc.perform(get("/api/v1/posts/" + saved.getId())).andExpect(status().isOk());
+						case 2 -> mockMvc.perform(get("/api/v1/posts/drafts")
+								.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andExpect(status().isOk());
+						default -> mockMvc.perform(post("/api/v1/auth/login")
+								.contentType(MediaType.APPLICATION_JSON).content(LOGIN)).andExpect(status().isOk());
+					}
+					return null;
+				}));
+			}
+			for (Future<?> call : calls) {
+				call.get();
+			}
+			recording.stop();
+		}
+
+		List<String> offending = pinned.stream()
+				.filter(event -> !pinnedByTestDatabase(event))
+				.map(VirtualThreadPinningTests::describe)
+				.toList();
+		assertTrue(offending.isEmpty(), () -> "Pinned virtual threads :\n" + String.join("\n\n", offending));
+	}
+
+	// The code that parked while pinned is the first frame above the JDK's own parking machinery;
+	// only when that is H2 is the event the test database's doing. An H2 frame further down, under
+	// application code that parks inside a synchronized block, still fails the test
+	protected boolean pinnedByTestDatabase(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return false;
+		}
+		for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+			String type = frame.getMethod().getType().getName();
+			if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) {
+				continue;
+			}
+			return type.startsWith("org.h2.");
+		}
+		return false;
+	}
+
+	private static String describe(RecordedEvent event) {
+		if (event.getStackTrace() == null) {
+			return "(no stack trace)";
+		}
+		return event.getStackTrace().getFrames().stream()
+				.limit(20)
+				.map(VirtualThreadPinningTests::frame)
+				.collect(Collectors.joining("\n  "));
+	}
+
+	private static String frame(RecordedFrame frame) {
+		return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.demo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The whole application with the test profile's strict budget : statements Hibernate runs for a real
+// request reach the counter, so the inspector is registered and an endpoint over its budget fails
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:sqlbudget",
+		"sql.budget.endpoints=Controller_Category.categoryList=0"
+})
+class SqlBudgetStrictTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void requestOverItsBudgetFails() {
+		IllegalStateException failure = assertThrows(IllegalStateException.class,
+				() -> mockMvc.perform(get("/api/v1/categories")));
+		assertTrue(failure.getMessage().startsWith("Controller_Category.categoryList ran "), failure.getMessage());
+		assertTrue(failure.getMessage().contains("(budget 0)"), failure.getMessage());
+	}
+
+	@Test
+	void requestWithinTheDefaultBudgetPasses() throws Exception {
+		mockMvc.perform(get("/api/v1/tags"))
+				.andExpect(status().isOk());
+	}
+}
@@ -0,0 +1,88 @@
+package com.example.demo.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlStatementBudgetTests {
+
+	private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+	static class Controller_Sample {
+		public void list() {
+		}
+	}
+
+	// Runs `statements` distinct-id lookups of the same shape from inside a Controller_Sample.list request
+	private void request(SqlStatementBudgetFilter filter, int statements) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/sample");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+				new HandlerMethod(new Controller_Sample(), "list"));
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(new HttpServlet() {
+			@Override
+			protected void service(HttpServletRequest req, HttpServletResponse resp) {
+				for (int i = 0; i < statements; i++) {
+					inspector.inspect("select t.name from tags t where t.id = " + i);
+				}
+			}
+		}));
+	}
+
+	@Test
+	void shapesFoldLiteralsAndParameterLists() {
+		assertEquals("select * from posts p1_0 where p1_0.title = ? and p1_0.id in (?, ...) limit ?",
+				SqlStatementCounter.shape("select *  from posts p1_0\n where p1_0.title = 'it''s' and p1_0.id in (?, ?, ?) limit 20"));
+	}
+
+	@Test
+	void requestWithinBudgetPasses() {
+		SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(20, Map.of(), 10, true);
+
+		assertDoesNotThrow(() -> request(filter, 5));
+	}
+
+	@Test
+	void strictModeFailsARequestOverItsEndpointBudget() {
+		SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(20, Map.of("Controller_Sample.list", 2), 10, true);
+
+		IllegalStateException failure = assertThrows(IllegalStateException.class, () -> request(filter, 3));
+		assertTrue(failure.getMessage().startsWith("Controller_Sample.list ran 3 SQL statements (budget 2)"));
+		assertTrue(failure.getMessage().endsWith("select t.name from tags t where t.id = ?"));
+	}
+
+	@Test
+	void repeatedShapeIsReportedEvenWithinBudget() {
+		SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(100, Map.of(), 10, true);
+
+		IllegalStateException failure = assertThrows(IllegalStateException.class, () -> request(filter, 10));
+		assertTrue(failure.getMessage().contains("likely N+1"));
+	}
+
+	@Test
+	void nonStrictModeOnlyWarnsAndClosesTheScope() {
+		SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(1, Map.of(), 10, false);
+
+		assertDoesNotThrow(() -> request(filter, 30));
+		inspector.inspect("select 1");
+		assertTrue(SqlStatementCounter.end().isEmpty());
+	}
+
+	@Test
+	void parsesEndpointBudgets() {
+		assertEquals(Map.of("Controller_Post.getPost", 3, "Controller_Tag.getAllTags", 2),
+				SqlBudgetConfig.parseBudgets(" Controller_Post.getPost=3, Controller_Tag.getAllTags=2,"));
+	}
+}
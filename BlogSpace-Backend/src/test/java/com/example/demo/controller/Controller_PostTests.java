@@ -0,0 +1,310 @@
+package com.example.demo.controller;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_Tag;
+import com.example.demo.repository.Repository_User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:postcontroller",
+		"content-versions.refresh-ms=100"
+})
+class Controller_PostTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private Repository_Tag repositoryTag;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private String bearer;
+
+	@BeforeEach
+	void login() throws Exception {
+		String token = objectMapper.readTree(mockMvc.perform(post("/api/v1/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"user@test.com\",\"password\":\"password\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()).get("token").asText();
+		bearer = "Bearer " + token;
+	}
+
+	private Entity_Category category(String name) {
+		return repositoryCategory.save(Entity_Category.builder().name(name).posts(new ArrayList<>()).build());
+	}
+
+	private Entity_Tags tag(String name) {
+		return repositoryTag.save(Entity_Tags.builder().name(name).posts(new HashSet<>()).build());
+	}
+
+	private Entity_Post save(String title, Enum_Post status, Entity_Category category, Entity_Tags... tags) {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		return repositoryPost.save(Entity_Post.builder()
+				.title(title)
+				.content("<p>" + title + "</p>")
+				.status(status)
+				.author(author)
+				.category(category)
+				.tags(new HashSet<>(Arrays.asList(tags)))
+				.readingTime(1)
+				.build());
+	}
+
+	// Titles of the streamed posts, in stream order
+	private List<String> stream(MockHttpServletRequestBuilder request) throws Exception {
+		MvcResult started = mockMvc.perform(request.accept(MediaType.APPLICATION_NDJSON)
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+				.andReturn().getResponse().getContentAsString();
+		List<String> titles = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			if (!line.isBlank()) {
+				JsonNode post = objectMapper.readTree(line);
+				titles.add(post.get("title").asText());
+			}
+		}
+		return titles;
+	}
+
+	@Test
+	void streamNeedsASignIn() throws Exception {
+		mockMvc.perform(get("/api/v1/posts").accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void streamWritesOneLinePerPublishedPost() throws Exception {
+		Entity_Category category = category("Streamed");
+		for (int i = 0; i < 150; i++) {
+			save("Streamed " + i, Enum_Post.PUBLISHED, category);
+		}
+		save("Streamed draft", Enum_Post.DRAFT, category);
+
+		List<String> titles = stream(get("/api/v1/posts").param("categoryId", category.getId().toString()));
+
+		assertEquals(150, titles.size());
+		assertEquals(150, Set.copyOf(titles).size());
+	}
+
+	@Test
+	void streamTakesTheSameCriteriaAsTheFeed() throws Exception {
+		Entity_Category category = category("Stream criteria");
+		Entity_Tags java = tag("stream-java");
+		Entity_Tags sql = tag("stream-sql");
+		save("Both", Enum_Post.PUBLISHED, category, java, sql);
+		save("Java only", Enum_Post.PUBLISHED, category, java);
+		save("Sql only", Enum_Post.PUBLISHED, category, sql);
+		save("Draft with both", Enum_Post.DRAFT, category, java, sql);
+		String author = repositoryUser.findByEmail("user@test.com").orElseThrow().getId().toString();
+
+		assertEquals(List.of("Both"), stream(get("/api/v1/posts")
+				.param("tagId", java.getId().toString(), sql.getId().toString())));
+		assertEquals(Set.of("Both", "Java only", "Sql only"), Set.copyOf(stream(get("/api/v1/posts")
+				.param("tagId", java.getId().toString(), sql.getId().toString())
+				.param("tagMatch", "ANY"))));
+		assertEquals(List.of("Both"), stream(get("/api/v1/posts")
+				.param("tagId", java.getId().toString(), sql.getId().toString())
+				.param("authorId", author)
+				.param("from", "2000-01-01T00:00:00")
+				.param("to", "2999-01-01T00:00:00")));
+		assertEquals(List.of(), stream(get("/api/v1/posts")
+				.param("categoryId", category.getId().toString())
+				.param("to", "2000-01-01T00:00:00")));
+		assertEquals(List.of("Draft with both"), stream(get("/api/v1/posts")
+				.param("categoryId", category.getId().toString())
+				.param("status", "DRAFT")
+				.param("authorId", author)));
+	}
+
+	@Test
+	void streamedDraftsStayWithTheirAuthor() throws Exception {
+		mockMvc.perform(get("/api/v1/posts").accept(MediaType.APPLICATION_NDJSON)
+						.param("status", "DRAFT")
+						.param("authorId", UUID.randomUUID().toString())
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isForbidden());
+	}
+
+	private String etag(String path) throws Exception {
+		String etag = mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotNull(etag);
+		return etag;
+	}
+
+	// The feed may serve its previous copy once while a background refresh rebuilds it
+	private String changedEtag(String path, String previous) throws Exception {
+		long deadline = System.currentTimeMillis() + 5000;
+		String etag = etag(path);
+		while (etag.equals(previous) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+			etag = etag(path);
+		}
+		assertNotEquals(previous, etag);
+		return etag;
+	}
+
+	private String postJson(Entity_Category category, String title) throws Exception {
+		return objectMapper.writeValueAsString(Map.of(
+				"title", title,
+				"content", "<p>" + title + "</p>",
+				"categoryId", category.getId(),
+				"status", "PUBLISHED"));
+	}
+
+	private String updateJson(String id, Entity_Category category, String title) throws Exception {
+		return objectMapper.writeValueAsString(Map.of(
+				"id", id,
+				"title", title,
+				"content", "<p>" + title + "</p>",
+				"categoryId", category.getId(),
+				"status", "PUBLISHED"));
+	}
+
+	@Test
+	void matchingIfNoneMatchGetsNotModified() throws Exception {
+		Entity_Post saved = save("Validated", Enum_Post.PUBLISHED, category("Validated"));
+		String feed = etag("/api/v1/posts");
+		String post = etag("/api/v1/posts/" + saved.getId());
+
+		mockMvc.perform(get("/api/v1/posts").header(HttpHeaders.IF_NONE_MATCH, feed))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/v1/posts/" + saved.getId()).header(HttpHeaders.IF_NONE_MATCH, post))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void createUpdateAndDeleteChangeTheValidators() throws Exception {
+		Entity_Category category = category("Mutated");
+		String feed = etag("/api/v1/posts");
+
+		String created = mockMvc.perform(post("/api/v1/posts")
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(postJson(category, "Created")))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		String id = objectMapper.readTree(created).get("id").asText();
+		feed = changedEtag("/api/v1/posts", feed);
+		String post = etag("/api/v1/posts/" + id);
+
+		mockMvc.perform(put("/api/v1/posts/" + id)
+						.header(HttpHeaders.AUTHORIZATION, bearer)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(updateJson(id, category, "Updated")))
+				.andExpect(status().isOk());
+		feed = changedEtag("/api/v1/posts", feed);
+		changedEtag("/api/v1/posts/" + id, post);
+		mockMvc.perform(get("/api/v1/posts/" + id).header(HttpHeaders.IF_NONE_MATCH, post))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(delete("/api/v1/posts/" + id).header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().is2xxSuccessful());
+		changedEtag("/api/v1/posts", feed);
+	}
+
+	// Another instance writing to the same database bumps the shared rows; this one notices within
+	// content-versions.refresh-ms without any local write
+	@Test
+	void writesThroughAnotherInstanceChangeTheValidators() throws Exception {
+		Entity_Post saved = save("Elsewhere", Enum_Post.PUBLISHED, category("Elsewhere"));
+		String feed = etag("/api/v1/posts");
+		String post = etag("/api/v1/posts/" + saved.getId());
+
+		jdbcTemplate.update("UPDATE content_versions_table SET version = version + 1, modified_at = ? "
+				+ "WHERE kind IN ('POSTS', 'CATEGORIES')", System.currentTimeMillis());
+
+		changedEtag("/api/v1/posts", feed);
+		changedEtag("/api/v1/posts/" + saved.getId(), post);
+	}
+
+	@Test
+	void feedPagesFollowTheirCursor() throws Exception {
+		Entity_Category category = category("Paged");
+		for (int i = 0; i < 5; i++) {
+			save("Paged " + i, Enum_Post.PUBLISHED, category);
+		}
+
+		List<String> titles = new ArrayList<>();
+		String after = null;
+		do {
+			MockHttpServletRequestBuilder request = get("/api/v1/posts")
+					.param("categoryId", category.getId().toString())
+					.param("limit", "2");
+			if (after != null) {
+				request.param("after", after);
+			}
+			JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			page.get("posts").forEach(post -> titles.add(post.get("title").asText()));
+			after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+		} while (after != null && titles.size() < 10);
+
+		assertEquals(5, titles.size());
+		assertEquals(5, Set.copyOf(titles).size());
+	}
+
+	@Test
+	void malformedCursorIsABadRequest() throws Exception {
+		mockMvc.perform(get("/api/v1/posts").param("after", "garbage"))
+				.andExpect(status().isBadRequest());
+	}
+}
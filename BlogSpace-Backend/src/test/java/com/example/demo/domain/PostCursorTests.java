@@ -0,0 +1,40 @@
+package com.example.demo.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostCursorTests {
+
+	@Test
+	void encodedCursorDecodesToTheSamePosition() {
+		UUID id = UUID.randomUUID();
+		for (LocalDateTime createdAt : new LocalDateTime[] {
+				LocalDateTime.of(2024, 3, 1, 10, 0),
+				LocalDateTime.of(2024, 3, 1, 10, 0, 7),
+				LocalDateTime.of(2024, 3, 1, 10, 0, 7, 123_456_789) }) {
+			PostCursor cursor = new PostCursor(createdAt, id);
+
+			assertEquals(cursor, PostCursor.decode(cursor.encode()));
+		}
+	}
+
+	@Test
+	void missingCursorStartsAtTheTop() {
+		assertSame(PostCursor.start(), PostCursor.decode(null));
+		assertSame(PostCursor.start(), PostCursor.decode(" "));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> PostCursor.decode("not a cursor"));
+		assertThrows(IllegalArgumentException.class, () -> PostCursor.decode("bm8tc2VwYXJhdG9y"));
+		assertThrows(IllegalArgumentException.class,
+				() -> PostCursor.decode(new PostCursor(LocalDateTime.now(), UUID.randomUUID()).encode().substring(3)));
+	}
+}
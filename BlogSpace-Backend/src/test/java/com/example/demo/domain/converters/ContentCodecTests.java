@@ -0,0 +1,41 @@
+package com.example.demo.domain.converters;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentCodecTests {
+
+	private static final String LONG_POST = "<p>Compression works best on long posts with repeated words. </p>".repeat(40)
+			+ "<p>Non-ASCII text survives too : déjà vu, naïve, 東京.</p>";
+
+	@Test
+	void compressesLongContentAndReadsItBack() {
+		byte[] compressed = ContentCodec.compress(LONG_POST, 1024, Deflater.BEST_SPEED);
+
+		assertEquals(ContentCodec.DEFLATE, compressed[0]);
+		assertTrue(compressed.length < LONG_POST.length() / 4);
+		assertEquals(LONG_POST, ContentCodec.decode("", compressed));
+	}
+
+	@Test
+	void leavesShortOrIncompressibleContentPlain() {
+		assertNull(ContentCodec.compress("<p>", 1024, Deflater.BEST_SPEED));
+		assertNull(ContentCodec.compress("q7#Zk", 0, Deflater.BEST_SPEED));
+		assertNull(ContentCodec.compress(null, 0, Deflater.BEST_SPEED));
+		assertEquals(LONG_POST, ContentCodec.decode(LONG_POST, null));
+		assertNull(ContentCodec.decode(null, null));
+	}
+
+	@Test
+	void rejectsUnknownOrMissingVersions() {
+		assertThrows(IllegalStateException.class, () -> ContentCodec.decode("", new byte[0]));
+		assertThrows(IllegalStateException.class, () -> ContentCodec.decode("", new byte[]{9, 'a'}));
+		assertThrows(IllegalStateException.class, () -> ContentCodec.decode("", new byte[]{ContentCodec.DEFLATE, 1, 2, 3}));
+	}
+}
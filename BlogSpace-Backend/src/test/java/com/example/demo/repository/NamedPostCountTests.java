@@ -0,0 +1,111 @@
+package com.example.demo.repository;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.domain.projections.NamedPostCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// findAllWithPostCount on categories and tags : every row comes back, a zero when it has no posts of
+// the asked status, and posts of another status are not counted
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:namedpostcount")
+class NamedPostCountTests {
+
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private Repository_Tag repositoryTag;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+
+	private Entity_Category category(String name) {
+		return repositoryCategory.save(Entity_Category.builder().name(name).posts(new ArrayList<>()).build());
+	}
+
+	private Entity_Tags tag(String name) {
+		return repositoryTag.save(Entity_Tags.builder().name(name).posts(new HashSet<>()).build());
+	}
+
+	private void save(String title, Enum_Post status, Entity_Category category, Entity_Tags... tags) {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		repositoryPost.save(Entity_Post.builder()
+				.title(title)
+				.content("<p>" + title + "</p>")
+				.status(status)
+				.author(author)
+				.category(category)
+				.tags(new HashSet<>(Arrays.asList(tags)))
+				.readingTime(1)
+				.build());
+	}
+
+	private static Map<UUID, Long> byId(List<NamedPostCount> counts) {
+		return counts.stream().collect(Collectors.toMap(NamedPostCount::getId, NamedPostCount::getPostCount));
+	}
+
+	@Test
+	void categoriesCountOnlyPostsOfTheAskedStatus() {
+		Entity_Category published = category("Count published");
+		Entity_Category draftsOnly = category("Count drafts only");
+		Entity_Category empty = category("Count empty");
+		save("Published one", Enum_Post.PUBLISHED, published);
+		save("Published two", Enum_Post.PUBLISHED, published);
+		save("Draft beside them", Enum_Post.DRAFT, published);
+		save("Lone draft", Enum_Post.DRAFT, draftsOnly);
+
+		Map<UUID, Long> counts = byId(repositoryCategory.findAllWithPostCount(Enum_Post.PUBLISHED));
+
+		assertEquals(2L, counts.get(published.getId()));
+		assertEquals(0L, counts.get(draftsOnly.getId()));
+		assertEquals(0L, counts.get(empty.getId()));
+
+		Map<UUID, Long> drafts = byId(repositoryCategory.findAllWithPostCount(Enum_Post.DRAFT));
+
+		assertEquals(1L, drafts.get(published.getId()));
+		assertEquals(1L, drafts.get(draftsOnly.getId()));
+		assertEquals(0L, drafts.get(empty.getId()));
+	}
+
+	@Test
+	void tagsSharedAcrossPostsCountEachPostOnce() {
+		Entity_Category category = category("Count tags");
+		Entity_Tags shared = tag("count-shared");
+		Entity_Tags other = tag("count-other");
+		Entity_Tags draftsOnly = tag("count-drafts-only");
+		Entity_Tags unused = tag("count-unused");
+		save("Tagged one", Enum_Post.PUBLISHED, category, shared, other);
+		save("Tagged two", Enum_Post.PUBLISHED, category, shared);
+		save("Tagged three", Enum_Post.PUBLISHED, category, shared);
+		save("Tagged draft", Enum_Post.DRAFT, category, shared, draftsOnly);
+
+		List<NamedPostCount> rows = repositoryTag.findAllWithPostCount(Enum_Post.PUBLISHED);
+		Map<UUID, Long> counts = byId(rows);
+
+		assertEquals(3L, counts.get(shared.getId()));
+		assertEquals(1L, counts.get(other.getId()));
+		assertEquals(0L, counts.get(draftsOnly.getId()));
+		assertEquals(0L, counts.get(unused.getId()));
+		// One row per tag, however many posts carry it
+		assertEquals(counts.size(), rows.size());
+	}
+}
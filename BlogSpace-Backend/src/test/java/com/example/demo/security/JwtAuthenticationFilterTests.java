@@ -0,0 +1,101 @@
+package com.example.demo.security;
+
+import com.example.demo.service.Service_Auth_Impl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.MockMvcBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:jwtfilter")
+class JwtAuthenticationFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@MockitoSpyBean
+	private Service_Auth_Impl serviceAuth;
+
+	private String bearer;
+
+	// MockMvc does not apply spring.mvc.publish-request-handled-events the way the real DispatcherServlet does;
+	// the event reads getUserPrincipal() and would resolve the deferred context on every request
+	@TestConfiguration
+	static class PublishEventsFromProperties {
+		@Bean
+		MockMvcBuilderCustomizer publishEvents(WebMvcProperties properties) {
+			return builder -> builder.addDispatcherServletCustomizer(
+					servlet -> servlet.setPublishEvents(properties.isPublishRequestHandledEvents()));
+		}
+	}
+
+	@BeforeEach
+	void login() throws Exception {
+		String token = objectMapper.readTree(mockMvc.perform(post("/api/v1/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"email\":\"user@test.com\",\"password\":\"password\"}"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()).get("token").asText();
+		bearer = "Bearer " + token;
+		clearInvocations(serviceAuth);
+	}
+
+	@Test
+	void publicReadsNeverVerifyTheToken() throws Exception {
+		mockMvc.perform(get("/api/v1/posts").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/tags").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/categories").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+
+		verify(serviceAuth, never()).validateToken(anyString());
+	}
+
+	@Test
+	void protectedEndpointsVerifyTheTokenOnce() throws Exception {
+		mockMvc.perform(get("/api/v1/posts/drafts").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isOk());
+
+		verify(serviceAuth, times(1)).validateToken(anyString());
+	}
+
+	@Test
+	void invalidTokenLeavesTheCallerAnonymous() throws Exception {
+		String forged = "Bearer not-a-jwt";
+		mockMvc.perform(get("/api/v1/posts").header(HttpHeaders.AUTHORIZATION, forged)).andExpect(status().isOk());
+		mockMvc.perform(get("/api/v1/posts/drafts").header(HttpHeaders.AUTHORIZATION, forged)).andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void draftsOfTheFeedNeedASignInAndTheirOwnAuthor() throws Exception {
+		String otherAuthor = UUID.randomUUID().toString();
+		mockMvc.perform(get("/api/v1/posts").param("status", "DRAFT").param("authorId", otherAuthor))
+				.andExpect(status().isUnauthorized());
+		mockMvc.perform(get("/api/v1/posts").param("status", "DRAFT").param("authorId", otherAuthor)
+						.header(HttpHeaders.AUTHORIZATION, bearer))
+				.andExpect(status().isForbidden());
+	}
+}
@@ -0,0 +1,122 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PasswordHashingTests {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	// One worker, one queued slot, two pending per client, one per account
+	private final PasswordHashing hashing = new PasswordHashing(1, 1, 2, 1, 3, 5_000);
+
+	@AfterEach
+	void shutdown() {
+		release.countDown();
+		hashing.shutdown();
+	}
+
+	private CompletableFuture<String> blocked(String client, String account) {
+		return blocked(hashing, client, account);
+	}
+
+	private CompletableFuture<String> blocked(PasswordHashing pool, String client, String account) {
+		return CompletableFuture.supplyAsync(() -> pool.run(client, account, () -> {
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return account;
+		}));
+	}
+
+	private void awaitPending(int expected) throws InterruptedException {
+		awaitPending(hashing, expected);
+	}
+
+	private void awaitPending(PasswordHashing pool, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (pool.stats().getActive() + pool.stats().getQueueDepth() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	void rejectsAtOnceWhenPoolAndQueueAreFull() throws Exception {
+		CompletableFuture<String> running = blocked("10.0.0.1", "a@test.com");
+		CompletableFuture<String> queued = blocked("10.0.0.2", "b@test.com");
+		awaitPending(2);
+
+		TooManyRequestsException shed = assertThrows(TooManyRequestsException.class,
+				() -> hashing.run("10.0.0.3", "c@test.com", () -> "never"));
+		assertEquals(3, shed.getRetryAfterSeconds());
+
+		release.countDown();
+		assertEquals("a@test.com", running.get(5, TimeUnit.SECONDS));
+		assertEquals("b@test.com", queued.get(5, TimeUnit.SECONDS));
+		assertEquals(1, hashing.stats().getRejected());
+		assertEquals(2, hashing.stats().getCompleted());
+	}
+
+	@Test
+	void oneAccountCannotHoldMoreThanItsShare() throws Exception {
+		CompletableFuture<String> running = blocked("10.0.0.1", "a@test.com");
+		awaitPending(1);
+
+		// Same account from another address is refused while a slot is still free for others
+		assertThrows(TooManyRequestsException.class, () -> hashing.run("10.0.0.9", "A@test.com", () -> "never"));
+		CompletableFuture<String> other = blocked("10.0.0.9", "b@test.com");
+		awaitPending(2);
+
+		release.countDown();
+		assertEquals("a@test.com", running.get(5, TimeUnit.SECONDS));
+		assertEquals("b@test.com", other.get(5, TimeUnit.SECONDS));
+		// Slots are given back once the work is done
+		assertEquals("a@test.com", hashing.run("10.0.0.1", "a@test.com", () -> "a@test.com"));
+	}
+
+	@Test
+	void callersGiveUpAfterMaxWaitAndSlotsComeBack() throws Exception {
+		PasswordHashing impatient = new PasswordHashing(1, 1, 2, 1, 3, 100);
+		try {
+			CompletableFuture<String> running = blocked(impatient, "10.0.0.1", "a@test.com");
+			awaitPending(impatient, 1);
+
+			AtomicBoolean ran = new AtomicBoolean();
+			TooManyRequestsException shed = assertThrows(TooManyRequestsException.class,
+					() -> impatient.run("10.0.0.1", "b@test.com", () -> {
+						ran.set(true);
+						return "never";
+					}));
+			assertEquals(3, shed.getRetryAfterSeconds());
+			// The queued hash is dropped at once, the running one is left to finish
+			assertEquals(0, impatient.stats().getQueueDepth());
+			ExecutionException waited = assertThrows(ExecutionException.class, () -> running.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(TooManyRequestsException.class, waited.getCause());
+
+			release.countDown();
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (impatient.stats().getCompleted() < 1 && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+			// Both accounts hold one slot at most : neither may have leaked
+			assertEquals("a@test.com", impatient.run("10.0.0.1", "a@test.com", () -> "a@test.com"));
+			assertEquals("b@test.com", impatient.run("10.0.0.1", "b@test.com", () -> "b@test.com"));
+			assertFalse(ran.get());
+			assertEquals(2, impatient.stats().getRejected());
+		} finally {
+			impatient.shutdown();
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package com.example.demo.security;
+
+import com.example.demo.domain.entity.Entity_RevokedToken;
+import com.example.demo.repository.Repository_RevokedToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenDenylistTests {
+
+	private static final long HOUR_MS = 3_600_000L;
+
+	private final Repository_RevokedToken repository = mock(Repository_RevokedToken.class);
+
+	private TokenDenylist denylist(int bloomBits) {
+		TokenDenylist denylist = new TokenDenylist(repository, bloomBits);
+		denylist.load();
+		return denylist;
+	}
+
+	@Test
+	void revokedIdsAreReportedAndOthersAreNot() {
+		TokenDenylist denylist = denylist(1 << 16);
+		denylist.revoke("leaked", System.currentTimeMillis() + HOUR_MS);
+
+		assertTrue(denylist.isRevoked("leaked"));
+		assertFalse(denylist.isRevoked("fresh"));
+		assertFalse(denylist.isRevoked(null));
+		verify(repository).save(any(Entity_RevokedToken.class));
+	}
+
+	@Test
+	void noRevokedIdIsMissedEvenWhenTheFilterIsCrowded() {
+		// 64 bits for 5000 ids : nearly every lookup reaches the exact map, none may be lost
+		TokenDenylist denylist = denylist(64);
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			String jti = UUID.randomUUID().toString();
+			ids.add(jti);
+			denylist.revoke(jti, System.currentTimeMillis() + HOUR_MS);
+		}
+
+		assertTrue(ids.stream().allMatch(denylist::isRevoked));
+		assertFalse(denylist.isRevoked(UUID.randomUUID().toString()));
+		assertEquals(5000, denylist.size());
+	}
+
+	@Test
+	void startsFromTheRevocationsStoredInTheDatabase() {
+		when(repository.findByExpiresAtAfter(any())).thenReturn(List.of(
+				Entity_RevokedToken.builder().jti("before-restart").expiresAt(LocalDateTime.now().plusHours(1)).build()));
+
+		TokenDenylist denylist = denylist(1 << 16);
+
+		assertTrue(denylist.isRevoked("before-restart"));
+		assertEquals(1, denylist.size());
+	}
+
+	@Test
+	void alreadyExpiredTokensAreNotStored() {
+		TokenDenylist denylist = denylist(1 << 16);
+		denylist.revoke("expired", System.currentTimeMillis() - 1);
+
+		assertFalse(denylist.isRevoked("expired"));
+		verify(repository, never()).save(any());
+	}
+}
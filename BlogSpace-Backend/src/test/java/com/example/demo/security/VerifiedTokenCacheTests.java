@@ -0,0 +1,108 @@
+package com.example.demo.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VerifiedTokenCacheTests {
+
+	private static Claims claims(long expiresInMs) {
+		return Jwts.claims().setSubject("user@test.com").setExpiration(new Date(System.currentTimeMillis() + expiresInMs));
+	}
+
+	@Test
+	void returnsCachedClaimsUntilTheTokenExpires() throws InterruptedException {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		Claims live = claims(60_000);
+		cache.put("live", live);
+		cache.put("short", claims(50));
+
+		Thread.sleep(100);
+
+		assertSame(live, cache.get("live"));
+		assertNull(cache.get("short"));
+		assertNull(cache.get("unknown"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void invalidatedTokensAreVerifiedAgain() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(10);
+		cache.put("token", claims(60_000));
+
+		cache.invalidate("token");
+
+		assertNull(cache.get("token"));
+	}
+
+	// CLOCK : the hand skips (and clears) tokens used since its last pass
+	@Test
+	void fullCacheDropsATokenNotUsedSinceTheLastSweep() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(3);
+		cache.put("a", claims(60_000));
+		cache.put("b", claims(60_000));
+		cache.put("c", claims(60_000));
+		cache.get("a");
+
+		cache.put("d", claims(60_000));
+
+		assertEquals(3, cache.size());
+		assertNull(cache.get("b"));
+		assertNotNull(cache.get("a"));
+		assertNotNull(cache.get("c"));
+		assertNotNull(cache.get("d"));
+	}
+
+	@Test
+	void sizeZeroDisablesTheCache() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(0);
+		cache.put("token", claims(60_000));
+
+		assertNull(cache.get("token"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void staysWithinItsBoundUnderConcurrentUse() throws Exception {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100);
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		List<Future<?>> workers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			int seed = t;
+			workers.add(pool.submit(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 20_000; i++) {
+					String token = "token-" + random.nextInt(500);
+					Claims cached = cache.get(token);
+					if (cached == null) {
+						cache.put(token, claims(60_000).setSubject(token));
+					} else {
+						assertEquals(token, cached.getSubject());
+					}
+				}
+				return null;
+			}));
+		}
+		for (Future<?> worker : workers) {
+			worker.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		assertTrue(cache.size() <= 100, "size " + cache.size());
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentAnalyzerTests {
+
+	@Test
+	void countsWordsOfTextOnly() {
+		ContentAnalyzer.Analysis analysis = ContentAnalyzer.analyze(
+				"<p>One <strong>two</strong></p><p>three&nbsp;four &amp; five</p>");
+
+		assertEquals(6, analysis.wordCount());
+		assertEquals(1, analysis.readingTime());
+		assertEquals("One two three four & five", analysis.excerpt());
+		assertEquals(ContentAnalyzer.analyze("").readingTime(), 0);
+		assertEquals(2, ContentAnalyzer.analyze("word ".repeat(201)).readingTime());
+	}
+
+	@Test
+	void cutsExcerptAtWordBoundary() {
+		String excerpt = ContentAnalyzer.analyze("<p>" + "abcd ".repeat(60) + "</p>").excerpt();
+
+		assertTrue(excerpt.endsWith("abcd..."));
+		assertTrue(excerpt.length() <= 203);
+	}
+
+	@Test
+	void keepsOnlyAllowedTagsWithoutAttributes() {
+		String html = "<p class=\"x\" onclick=\"alert(1)\">Hi <em>there</em><br/>"
+				+ "<a href=\"javascript:alert(1)\">link</a><script>alert('x')</script>"
+				+ "<img src=x onerror=alert(1)><!-- note --></p><h1>Title</h1>";
+
+		assertEquals("<p>Hi <em>there</em><br>link</p>Title", ContentAnalyzer.analyze(html).sanitizedHtml());
+	}
+
+	@Test
+	void escapesStrayMarkupCharacters() {
+		ContentAnalyzer.Analysis analysis = ContentAnalyzer.analyze("1 < 2 & 3 > \"2\" &lt;b&gt; &copy; &#x1F600;");
+
+		assertEquals("1 &lt; 2 &amp; 3 &gt; &quot;2&quot; &lt;b&gt; &copy; &#x1F600;", analysis.sanitizedHtml());
+		assertEquals("1 < 2 & 3 > \"2\" <b> &copy; 😀", analysis.excerpt());
+	}
+
+	@Test
+	void hashesRawContent() {
+		assertEquals(64, ContentAnalyzer.analyze("<p>a</p>").contentHash().length());
+		assertNotEquals(ContentAnalyzer.analyze("<p>a</p>").contentHash(), ContentAnalyzer.analyze("<p>b</p>").contentHash());
+	}
+}
@@ -0,0 +1,80 @@
+package com.example.demo.service;
+
+import com.example.demo.service.ContentVersions.Kind;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedPageCacheTests {
+
+	private final ContentVersions versions = new ContentVersions();
+	private final List<Runnable> pending = new ArrayList<>();
+	private final AtomicInteger loads = new AtomicInteger();
+
+	private String json(FeedPage page) {
+		return new String(page.getJson(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void servesStaleCopyWhileOneRefreshRuns() {
+		FeedPageCache cache = new FeedPageCache(versions, new ObjectMapper(), pending::add, 16, 60_000);
+
+		assertEquals("1", json(cache.get("k", loads::incrementAndGet)));
+		assertEquals("1", json(cache.get("k", loads::incrementAndGet)));
+		assertEquals(1, loads.get());
+
+		versions.bump(Kind.POSTS);
+		assertEquals("1", json(cache.get("k", loads::incrementAndGet)));
+		assertEquals("1", json(cache.get("k", loads::incrementAndGet)));
+		assertEquals(1, pending.size());
+
+		pending.remove(0).run();
+		FeedPage refreshed = cache.get("k", loads::incrementAndGet);
+		assertEquals("2", json(refreshed));
+		assertEquals(versions.stamp(Kind.POSTS, Kind.CATEGORIES), refreshed.getStamp());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void rebuildsInlineOnceStaleBeyondLimit() {
+		FeedPageCache cache = new FeedPageCache(versions, new ObjectMapper(), pending::add, 16, -1);
+
+		cache.get("k", loads::incrementAndGet);
+		versions.bump(Kind.CATEGORIES);
+
+		assertEquals("2", json(cache.get("k", loads::incrementAndGet)));
+		assertEquals(0, pending.size());
+	}
+
+	@Test
+	void stopsServingStaleCopyWhenWritesContinueAndRefreshesFail() throws InterruptedException {
+		// Refreshes run inline here, and every one after the first load fails
+		FeedPageCache cache = new FeedPageCache(versions, new ObjectMapper(), Runnable::run, 16, 100);
+		Supplier<Integer> loader = () -> {
+			if (loads.incrementAndGet() > 1) {
+				throw new IllegalStateException("database down");
+			}
+			return 1;
+		};
+		cache.get("k", loader);
+
+		long started = System.currentTimeMillis();
+		while (System.currentTimeMillis() - started < 100) {
+			versions.bump(Kind.POSTS);
+			assertEquals("1", json(cache.get("k", loader)));
+			Thread.sleep(10);
+		}
+		Thread.sleep(20);
+		versions.bump(Kind.POSTS);
+
+		assertThrows(IllegalStateException.class, () -> cache.get("k", loader));
+	}
+}
@@ -0,0 +1,61 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.PostFilter;
+import com.example.demo.security.TooManyRequestsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class FeedStreamsTests {
+
+	private static final PostFilter FEED = PostFilter.builder().status(Enum_Post.PUBLISHED).build();
+
+	@Test
+	void capsConcurrentStreamsAndFreesTheSlotWhenOneEnds() throws Exception {
+		Service_Posts postService = mock(Service_Posts.class);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch finish = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			started.countDown();
+			finish.await();
+			return null;
+		}).doAnswer(invocation -> {
+			finished.countDown();
+			return null;
+		}).when(postService).streamPosts(any(), any());
+		FeedStreams streams = new FeedStreams(postService, new ObjectMapper(), new SimpleAsyncTaskExecutor(), 1, 5_000, 30);
+
+		ResponseBodyEmitter first = streams.open(FEED);
+		assertEquals(5_000L, first.getTimeout());
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class, () -> streams.open(FEED));
+		assertEquals(30, rejected.getRetryAfterSeconds());
+
+		finish.countDown();
+		// The slot is released as the first writer returns, which may lag the latch slightly
+		ResponseBodyEmitter second = null;
+		for (int attempt = 0; second == null && attempt < 100; attempt++) {
+			try {
+				second = streams.open(FEED);
+			} catch (TooManyRequestsException e) {
+				Thread.sleep(20);
+			}
+		}
+		assertNotNull(second);
+		assertTrue(finished.await(5, TimeUnit.SECONDS));
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:backfill",
+		"posts.analysis-backfill.batch-size=100",
+		"posts.analysis-backfill.threads=4"
+})
+class PostAnalysisBackfillTests {
+
+	private static final int POSTS = 750;
+
+	@Autowired
+	private PostAnalysisBackfill backfill;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+
+	@Test
+	void analyzesLegacyRowsOnceWithoutTouchingUpdatedAt() {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category category = repositoryCategory.save(
+				Entity_Category.builder().name("Backfill").posts(new ArrayList<>()).build());
+		List<Entity_Post> posts = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			// Saved the way rows looked before derived fields existed
+			posts.add(Entity_Post.builder()
+					.title("Legacy " + i)
+					.content("<p>Legacy <script>x()</script>body " + i + "</p>")
+					.status(Enum_Post.PUBLISHED)
+					.author(author)
+					.category(category)
+					.tags(new HashSet<>())
+					.readingTime(0)
+					.build());
+		}
+		repositoryPost.saveAll(posts);
+
+		assertEquals(POSTS, backfill.run());
+		assertEquals(0, backfill.run());
+
+		for (Entity_Post post : repositoryPost.findAll()) {
+			assertEquals(ContentAnalyzer.VERSION, post.getAnalysisVersion());
+			assertEquals(3, post.getWordCount());
+			assertEquals(1, post.getReadingTime());
+			assertEquals("<p>Legacy body " + post.getTitle().substring(7) + "</p>", post.getContentHtml());
+			assertEquals(posts.stream().filter(p -> p.getId().equals(post.getId())).findFirst().orElseThrow()
+					.getUpdatedAt().withNano(0), post.getUpdatedAt().withNano(0));
+		}
+	}
+}
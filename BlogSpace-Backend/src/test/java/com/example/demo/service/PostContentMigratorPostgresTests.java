@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+import com.example.demo.PostgresTestDatabase;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+// The same migration on PostgreSQL : TEXT and bytea columns, OCTET_LENGTH on text
+class PostContentMigratorPostgresTests extends PostContentMigratorTests {
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		PostgresTestDatabase.register(registry, "compression");
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:compression",
+		"posts.content-compression.enabled=true",
+		"posts.content-compression.batch-size=7"
+})
+class PostContentMigratorTests {
+
+	private static final String BODY = "<p>A long paragraph that repeats itself, as long posts tend to do. </p>".repeat(30);
+
+	@Autowired
+	private PostContentMigrator migrator;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private TaskExecutor applicationTaskExecutor;
+
+	private byte[] compressed(UUID id) {
+		return jdbcTemplate.queryForObject("SELECT content_compressed FROM posts_table WHERE id = ?", byte[].class, id);
+	}
+
+	private String text(UUID id) {
+		return jdbcTemplate.queryForObject("SELECT content FROM posts_table WHERE id = ?", String.class, id);
+	}
+
+	@Test
+	void newRowsAreCompressedAndLegacyRowsMigrated() {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category category = repositoryCategory.save(
+				Entity_Category.builder().name("Compression").posts(new ArrayList<>()).build());
+		List<Entity_Post> posts = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			posts.add(Entity_Post.builder()
+					.title("Post " + i)
+					.content(BODY + i)
+					.contentHash("hash-" + i)
+					.status(Enum_Post.PUBLISHED)
+					.author(author)
+					.category(category)
+					.tags(new HashSet<>())
+					.readingTime(1)
+					.build());
+		}
+		repositoryPost.saveAll(posts);
+		UUID any = posts.get(0).getId();
+		assertNotNull(compressed(any));
+		assertEquals("", text(any));
+
+		// Rows written while compression was off
+		for (Entity_Post post : posts) {
+			jdbcTemplate.update("UPDATE posts_table SET content = ?, content_compressed = NULL WHERE id = ?",
+					BODY + post.getTitle(), post.getId());
+		}
+
+		assertEquals(20, migrator.run());
+		assertEquals(0, migrator.run());
+		assertNotNull(compressed(any));
+		assertEquals(BODY + "Post 0", repositoryPost.findById(any).orElseThrow().getContent());
+
+		// Turning compression off again puts the text back in the content column
+		PostContentMigrator inflate = new PostContentMigrator(repositoryPost, transactionTemplate,
+				applicationTaskExecutor, false, true, 1024, 1, 7);
+		assertEquals(20, inflate.run());
+		assertEquals(0, inflate.run());
+		assertNull(compressed(any));
+		assertEquals(BODY + "Post 0", text(any));
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostDetailCacheTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.now();
+
+	private static byte[] body(int size) {
+		return "x".repeat(size).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedWhenOverBudget() {
+		PostDetailCache cache = new PostDetailCache(new ContentVersions(), 400);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID third = UUID.randomUUID();
+
+		cache.put(first, NOW, "post", body(100), cache.stamp());
+		cache.put(second, NOW, "post", body(100), cache.stamp());
+		cache.get(first);
+		cache.put(third, NOW, "post", body(100), cache.stamp());
+		cache.put(UUID.randomUUID(), NOW, "post", body(100), cache.stamp());
+		cache.put(UUID.randomUUID(), NOW, "post", body(100), cache.stamp());
+
+		assertNull(cache.get(second));
+		assertNotNull(cache.get(first));
+		assertEquals(1, cache.getEvictions());
+		assertTrue(cache.getUsedBytes() <= 400);
+	}
+
+	@Test
+	void dropsPutsThatRacedAnInvalidation() {
+		PostDetailCache cache = new PostDetailCache(new ContentVersions(), 1024);
+		UUID id = UUID.randomUUID();
+
+		long stamp = cache.stamp();
+		cache.invalidate(id);
+		ByteBuffer served = cache.put(id, NOW, "post", body(10), stamp);
+
+		assertEquals(10, served.remaining());
+		assertNull(cache.get(id));
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	void readersGetIndependentPositions() {
+		PostDetailCache cache = new PostDetailCache(new ContentVersions(), 1024);
+		UUID id = UUID.randomUUID();
+		cache.put(id, NOW, "post", body(10), cache.stamp());
+
+		cache.get(id).getJson().position(10);
+
+		assertEquals(10, cache.get(id).getJson().remaining());
+		assertEquals(2, cache.getHits());
+	}
+
+	@Test
+	void dropsEverythingWhenTheSharedVersionsMove() {
+		ContentVersions versions = new ContentVersions();
+		PostDetailCache cache = new PostDetailCache(versions, 1024);
+		UUID id = UUID.randomUUID();
+		cache.put(id, NOW, "post", body(10), cache.stamp());
+		assertNotNull(cache.get(id));
+
+		versions.bump(ContentVersions.Kind.CATEGORIES);
+
+		assertNull(cache.get(id));
+	}
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostSearchIndexTests {
+
+	private final PostSearchIndex index = new PostSearchIndex();
+
+	private List<UUID> ids(String query, int offset, int limit) {
+		return index.search(PostSearchIndex.queryTerms(query), offset, limit).hits().stream()
+				.map(PostSearchIndex.Hit::id).toList();
+	}
+
+	@Test
+	void ranksTitleAndRareTermsFirst() {
+		UUID inTitle = UUID.randomUUID();
+		UUID inBody = UUID.randomUUID();
+		UUID unrelated = UUID.randomUUID();
+		index.index(inBody, "Weekend notes", "<p>Some thoughts on <b>Kafka</b> consumers and java</p>");
+		index.index(inTitle, "Kafka in practice", "<p>Partitions and java</p>");
+		index.index(unrelated, "Gardening", "<p>Tomatoes and java</p>");
+
+		assertEquals(List.of(inTitle, inBody), ids("kafka", 0, 10));
+		assertEquals(3, index.search(PostSearchIndex.queryTerms("Java"), 0, 10).total());
+		assertEquals(List.of(), ids("the and", 0, 10));
+	}
+
+	@Test
+	void updatesAndRemovalsReplaceEarlierVersions() {
+		UUID id = UUID.randomUUID();
+		index.index(id, "Draft title", "rust ownership");
+		index.index(id, "Final title", "go channels");
+
+		assertEquals(List.of(), ids("rust", 0, 10));
+		assertEquals(List.of(id), ids("channels", 0, 10));
+
+		index.remove(id);
+		assertEquals(List.of(), ids("channels", 0, 10));
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void bulkLoadKeepsNewerWritesAndDeletes() {
+		UUID updated = UUID.randomUUID();
+		UUID deleted = UUID.randomUUID();
+		index.beginLoad();
+		index.index(updated, "Fresh", "newer text");
+		index.remove(deleted);
+		index.load(List.of(
+				PostSearchIndex.analyze(updated, "Stale", "older text"),
+				PostSearchIndex.analyze(deleted, "Gone", "older text")));
+		index.endLoad();
+
+		assertEquals(List.of(updated), ids("newer", 0, 10));
+		assertEquals(List.of(), ids("older", 0, 10));
+	}
+
+	@Test
+	void pagesStayOrderedAcrossCompaction() {
+		List<UUID> kept = new ArrayList<>();
+		List<UUID> all = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			UUID id = UUID.randomUUID();
+			all.add(id);
+			index.index(id, "Post " + i, "common " + "word ".repeat(i % 7));
+			if (i % 3 == 0) {
+				kept.add(id);
+			}
+		}
+		for (UUID id : all) {
+			if (!kept.contains(id)) {
+				index.remove(id);
+			}
+		}
+		assertEquals(kept.size(), index.size());
+		ids("common", 0, 1000).forEach(id -> assertTrue(kept.contains(id)));
+
+		List<UUID> firstTwoPages = new ArrayList<>(ids("common word", 0, 20));
+		firstTwoPages.addAll(ids("common word", 20, 20));
+		assertEquals(ids("common word", 0, 40), firstTwoPages);
+	}
+
+	@Test
+	void snippetsEscapeTextAndMarkMatches() {
+		String text = SearchText.plainText("<p>Use &lt;script&gt; tags &amp; <i>Spring</i> beans</p>");
+		assertEquals("Use <script> tags & Spring beans", text);
+		assertEquals("Use &lt;script&gt; tags &amp; <mark>Spring</mark> beans",
+				SearchText.snippet(text, Set.of("spring"), 200));
+	}
+}
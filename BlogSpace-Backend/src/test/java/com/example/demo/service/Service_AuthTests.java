@@ -0,0 +1,102 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:auth",
+		"spring.jpa.properties.hibernate.generate_statistics=true",
+		"security.password.bcrypt-strength=5"
+})
+class Service_AuthTests {
+
+	private static final String CLIENT = "127.0.0.1";
+
+	@Autowired
+	private Service_Auth serviceAuth;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@MockitoSpyBean
+	private PasswordEncoder passwordEncoder;
+
+	@Test
+	void loginIsOneLookupAndOneHashCheck() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		serviceAuth.authenticate("user@test.com", "password", CLIENT);
+		clearInvocations(passwordEncoder);
+		statistics.clear();
+
+		serviceAuth.authenticate("user@test.com", "password", CLIENT);
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+		verify(passwordEncoder, never()).encode(anyString());
+	}
+
+	@Test
+	void legacyHashIsUpgradedOnSuccessfulLoginOnly() {
+		String legacy = new BCryptPasswordEncoder(4).encode("old-secret");
+		repositoryUser.save(Entity_User.builder()
+				.email("legacy@test.com")
+				.username("Legacy")
+				.password(legacy)
+				.build());
+
+		assertThrows(BadCredentialsException.class, () -> serviceAuth.authenticate("legacy@test.com", "wrong", CLIENT));
+		assertEquals(legacy, repositoryUser.findByEmail("legacy@test.com").orElseThrow().getPassword());
+
+		serviceAuth.authenticate("legacy@test.com", "old-secret", CLIENT);
+		String upgraded = repositoryUser.findByEmail("legacy@test.com").orElseThrow().getPassword();
+		assertTrue(upgraded.startsWith("{bcrypt}$2a$05$"), upgraded);
+
+		clearInvocations(passwordEncoder);
+		serviceAuth.authenticate("legacy@test.com", "old-secret", CLIENT);
+		verify(passwordEncoder, never()).encode(anyString());
+	}
+
+	@Test
+	void unknownEmailStillCostsOneHashCheck() {
+		serviceAuth.authenticate("user@test.com", "password", CLIENT);
+		assertThrows(BadCredentialsException.class, () -> serviceAuth.authenticate("nobody@test.com", "password", CLIENT));
+		clearInvocations(passwordEncoder);
+
+		assertThrows(BadCredentialsException.class, () -> serviceAuth.authenticate("nobody@test.com", "password", CLIENT));
+		verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+	}
+
+	@Test
+	void tokensAreIssuedOnlyForBlogUsers() {
+		String token = serviceAuth.generateToken(serviceAuth.authenticate("user@test.com", "password", CLIENT));
+		assertEquals("user@test.com", serviceAuth.validateToken(token).getUsername());
+
+		IllegalArgumentException failure = assertThrows(IllegalArgumentException.class,
+				() -> serviceAuth.generateToken(User.withUsername("other@test.com").password("x").build()));
+		assertTrue(failure.getMessage().contains(User.class.getName()), failure.getMessage());
+	}
+}
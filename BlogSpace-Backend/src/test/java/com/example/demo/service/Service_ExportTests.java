@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_Tag;
+import com.example.demo.repository.Repository_User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:export",
+		"posts.content-compression.enabled=true"
+})
+class Service_ExportTests {
+
+	private static final String BODY = "<p>Exported content is written as the application reads it. </p>".repeat(30);
+
+	@Autowired
+	private Service_Export serviceExport;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private Repository_Tag repositoryTag;
+
+	@Test
+	void writesEveryRowAsOneGzippedJsonLineInRestoreOrder() throws Exception {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category category = repositoryCategory.save(
+				Entity_Category.builder().name("Export").posts(new ArrayList<>()).build());
+		Entity_Tags tag = repositoryTag.save(Entity_Tags.builder().name("backup").posts(new HashSet<>()).build());
+		List<Entity_Post> posts = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			posts.add(Entity_Post.builder()
+					.title("Post " + i)
+					.content(BODY)
+					.status(i % 3 == 0 ? Enum_Post.DRAFT : Enum_Post.PUBLISHED)
+					.author(author)
+					.category(category)
+					.tags(new HashSet<>(Set.of(tag)))
+					.readingTime(1)
+					.build());
+		}
+		repositoryPost.saveAll(posts);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		serviceExport.export(out);
+
+		Map<String, Integer> counts = new HashMap<>();
+		List<String> order = new ArrayList<>();
+		try (BufferedReader lines = new BufferedReader(new InputStreamReader(
+				new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = lines.readLine()) != null) {
+				JsonNode row = objectMapper.readTree(line);
+				String type = row.get("type").asText();
+				if (order.isEmpty() || !order.get(order.size() - 1).equals(type)) {
+					order.add(type);
+				}
+				counts.merge(type, 1, Integer::sum);
+				if (type.equals("user")) {
+					assertFalse(row.has("email") || row.has("password"));
+				}
+				if (type.equals("post")) {
+					assertEquals(BODY, row.get("content").asText());
+					assertEquals(category.getId().toString(), row.get("categoryId").asText());
+				}
+			}
+		}
+		assertEquals(List.of("user", "category", "tag", "post", "post_tag"), order);
+		assertEquals(Map.of("user", 1, "category", 1, "tag", 1, "post", 30, "post_tag", 30), counts);
+	}
+}
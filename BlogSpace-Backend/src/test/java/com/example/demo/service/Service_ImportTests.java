@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.dtos.Dto_ImportReport;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_Tag;
+import com.example.demo.repository.Repository_User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:import",
+		"posts.import.batch-size=40"
+})
+class Service_ImportTests {
+
+	private static final int POSTS = 100;
+
+	@Autowired
+	private Service_Import serviceImport;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private Repository_Tag repositoryTag;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void importsValidLinesInBatchesAndReportsTheRest() throws Exception {
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category existing = repositoryCategory.save(
+				Entity_Category.builder().name("Existing").posts(new ArrayList<>()).build());
+
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			lines.add("""
+					{"title":"Imported %d","content":"<p>Body of post %d</p>","category":"%s",\
+					"tags":["imported","batch-%d"],"status":"%s","createdAt":"2020-01-01T10:00:00"}"""
+					.formatted(i, i, i % 2 == 0 ? "Existing" : "Migrated", i % 4, i % 5 == 0 ? "DRAFT" : "PUBLISHED"));
+		}
+		lines.add(10, "{not json");
+		lines.add(50, "{\"title\":\"No category\",\"content\":\"Body\",\"status\":\"PUBLISHED\"}");
+		lines.add(70, "");
+
+		Dto_ImportReport report = serviceImport.importPosts(author.getId(),
+				new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(POSTS, report.getImported());
+		assertEquals(2, report.getFailed());
+		assertEquals(List.of(11L, 51L), report.getErrors().stream().map(Dto_ImportReport.ImportError::getLine).toList());
+		assertEquals("Category is required", report.getErrors().get(1).getMessage());
+
+		assertEquals(POSTS, repositoryPost.count());
+		assertEquals(2, repositoryCategory.count());
+		assertEquals(5, repositoryTag.count());
+		transactionTemplate.executeWithoutResult(status -> {
+			for (Entity_Post post : repositoryPost.findAll()) {
+				assertEquals(LocalDateTime.of(2020, 1, 1, 10, 0), post.getCreatedAt());
+				assertEquals(2, post.getTags().size());
+				assertTrue(post.getExcerpt().startsWith("Body of post"));
+				if (post.getCategory().getName().equals("Existing")) {
+					assertEquals(existing.getId(), post.getCategory().getId());
+				}
+			}
+		});
+		assertEquals(POSTS / 5, repositoryPost.findAll().stream()
+				.filter(post -> post.getStatus() == Enum_Post.DRAFT).count());
+	}
+}
@@ -0,0 +1,188 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.PostCursor;
+import com.example.demo.domain.PostFilter;
+import com.example.demo.domain.dtos.Dto_PostSummary;
+import com.example.demo.domain.dtos.Dto_Posts;
+import com.example.demo.domain.dtos.Dto_Tag;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+import com.example.demo.domain.mappers.PostMapper;
+import com.example.demo.repository.Repository_Category;
+import com.example.demo.repository.Repository_Post;
+import com.example.demo.repository.Repository_Tag;
+import com.example.demo.repository.Repository_User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:querycount",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class Service_PostsQueryCountTests {
+
+	private static final int POSTS = 500;
+	private static final int PAGE_SIZE = 100;
+
+	@Autowired
+	private Service_Posts postService;
+	@Autowired
+	private PostMapper postMapper;
+	@Autowired
+	private Repository_Post repositoryPost;
+	@Autowired
+	private Repository_User repositoryUser;
+	@Autowired
+	private Repository_Category repositoryCategory;
+	@Autowired
+	private Repository_Tag repositoryTag;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EntityManager sharedEntityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		if (repositoryPost.count() >= POSTS) {
+			return;
+		}
+		Entity_User author = repositoryUser.findByEmail("user@test.com").orElseThrow();
+		Entity_Category category = repositoryCategory.save(
+				Entity_Category.builder().name("Query Count").posts(new ArrayList<>()).build());
+		List<Entity_Tags> tags = repositoryTag.saveAll(List.of(
+				Entity_Tags.builder().name("qc-one").posts(new HashSet<>()).build(),
+				Entity_Tags.builder().name("qc-two").posts(new HashSet<>()).build()));
+
+		List<Entity_Post> posts = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			posts.add(Entity_Post.builder()
+					.title("Post " + i)
+					.content("Body of post " + i)
+					.excerpt("Body of post " + i)
+					.status(Enum_Post.PUBLISHED)
+					.author(author)
+					.category(category)
+					.tags(new HashSet<>(tags))
+					.readingTime(1)
+					.build());
+		}
+		repositoryPost.saveAll(posts);
+	}
+
+	@Test
+	void everyFeedPageCostsTheSameNumberOfStatements() {
+		PostCursor cursor = PostCursor.start();
+		int seen = 0;
+		while (true) {
+			statistics.clear();
+			List<Dto_PostSummary> page = postService.getAllPosts(PostFilter.builder().build(), cursor, PAGE_SIZE);
+
+			// one seek query for the rows and one for their tags, whatever the depth
+			assertEquals(2, statistics.getPrepareStatementCount());
+			assertEquals(0, statistics.getEntityLoadCount());
+			assertEquals(2, page.get(0).getTags().size());
+
+			boolean hasNext = page.size() > PAGE_SIZE;
+			List<Dto_PostSummary> rows = hasNext ? page.subList(0, PAGE_SIZE) : page;
+			seen += rows.size();
+			if (!hasNext) {
+				break;
+			}
+			Dto_PostSummary last = rows.get(rows.size() - 1);
+			cursor = new PostCursor(last.getCreatedAt(), last.getId());
+		}
+		assertEquals(POSTS, seen);
+	}
+
+	@Test
+	void combinedFilterIsOneStatementWithTagsMatchedAllOrAny() {
+		Entity_Post any = repositoryPost.findAll().get(0);
+		Set<UUID> tagIds = Set.of(
+				repositoryTag.findByNameIn(List.of("qc-one")).get(0).getId(),
+				UUID.randomUUID());
+		PostFilter.PostFilterBuilder filter = PostFilter.builder()
+				.categoryId(any.getCategory().getId())
+				.authorId(any.getAuthor().getId())
+				.tagIds(tagIds)
+				.from(LocalDateTime.now().minusDays(1))
+				.to(LocalDateTime.now().plusDays(1));
+
+		statistics.clear();
+		List<Dto_PostSummary> anyTag = postService.getAllPosts(
+				filter.tagMatch(PostFilter.TagMatch.ANY).build(), PostCursor.start(), PAGE_SIZE);
+		// rows and their tags, however many criteria are set
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertEquals(PAGE_SIZE + 1, anyTag.size());
+
+		List<Dto_PostSummary> allTags = postService.getAllPosts(
+				filter.tagMatch(PostFilter.TagMatch.ALL).build(), PostCursor.start(), PAGE_SIZE);
+		assertTrue(allTags.isEmpty());
+
+		List<Dto_PostSummary> drafts = postService.getAllPosts(
+				PostFilter.builder().status(Enum_Post.DRAFT).build(), PostCursor.start(), PAGE_SIZE);
+		assertTrue(drafts.isEmpty());
+	}
+
+	@Test
+	void postDetailLoadsAuthorCategoryAndTagsInOneStatement() {
+		Entity_Post any = repositoryPost.findAll().get(0);
+
+		statistics.clear();
+		Dto_Posts dto = postMapper.toDto(postService.getPost(any.getId()));
+
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals("Test User", dto.getAuthor().getName());
+		assertEquals("Query Count", dto.getCategory().getName());
+		assertEquals(Set.of("qc-one", "qc-two"),
+				dto.getTags().stream().map(Dto_Tag::getName).collect(Collectors.toSet()));
+	}
+
+	@Test
+	void streamingKeepsPersistenceContextBoundedPerChunk() {
+		EntityManager entityManager = sharedEntityManager;
+		int[] streamed = {0};
+		int[] largestContext = {0};
+
+		statistics.clear();
+		postService.streamPosts(PostFilter.builder().status(Enum_Post.PUBLISHED).build(), post -> {
+			streamed[0]++;
+			int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+			largestContext[0] = Math.max(largestContext[0], managed);
+			assertEquals(2, post.getTags().size());
+		});
+
+		assertEquals(POSTS, streamed[0]);
+		// one cursor for the posts plus one tag query per chunk of 100
+		assertEquals(1 + POSTS / 100, statistics.getPrepareStatementCount());
+		// a chunk of posts with their author and category, never the whole table
+		assertTrue(largestContext[0] <= 102, "managed entities : " + largestContext[0]);
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.demo.service;
+
+import com.example.demo.PostgresTestDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The same stress run on PostgreSQL, where tags go through the single INSERT ... ON CONFLICT statement
+class Tag_ServiceConcurrencyPostgresTests extends Tag_ServiceConcurrencyTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void postgres(DynamicPropertyRegistry registry) {
+		PostgresTestDatabase.register(registry, "tags");
+	}
+
+	@Test
+	void runsOnPostgres() {
+		assertEquals("PostgreSQL", jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+				connection.getMetaData().getDatabaseProductName()));
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.demo.service;
+
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.projections.NamedPostCount;
+import com.example.demo.repository.Repository_Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+		"spring.datasource.url=jdbc:h2:mem:tags;LOCK_TIMEOUT=10000",
+		"spring.datasource.hikari.maximum-pool-size=16"
+})
+class Tag_ServiceConcurrencyTests {
+
+	private static final int THREADS = 16;
+	private static final int ROUNDS = 20;
+	private static final int NAMES = 30;
+
+	@Autowired
+	private Tag_Service tagService;
+	@Autowired
+	private Repository_Tag repositoryTag;
+
+	@Test
+	void concurrentCallersWithOverlappingNamesAllGetEveryRequestedTag() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> callers = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int caller = t;
+				callers.add(pool.submit(() -> {
+					start.await();
+					for (int round = 0; round < ROUNDS; round++) {
+						// Each caller asks for a sliding window of names, overlapping its neighbours'
+						Set<String> requested = new HashSet<>();
+						for (int i = 0; i < 8; i++) {
+							requested.add("stress-" + ((caller + round + i) % NAMES));
+						}
+						List<NamedPostCount> tags = tagService.createTags(requested);
+						assertEquals(requested, tags.stream().map(NamedPostCount::getName).collect(Collectors.toSet()));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : callers) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		Set<String> stored = repositoryTag.findAll().stream()
+				.map(Entity_Tags::getName)
+				.filter(name -> name.startsWith("stress-"))
+				.collect(Collectors.toSet());
+		assertEquals(NAMES, stored.size());
+	}
+
+	@Test
+	void returnsExistingTagsWithTheirIdsAndCreatesOnlyMissingOnes() {
+		NamedPostCount first = tagService.createTags(Set.of("solo-a")).get(0);
+		List<NamedPostCount> both = tagService.createTags(Set.of("solo-a", "solo-b"));
+
+		assertEquals(List.of("solo-a", "solo-b"), both.stream().map(NamedPostCount::getName).toList());
+		assertEquals(first.getId(), both.get(0).getId());
+		assertEquals(0L, both.get(1).getPostCount());
+	}
+}
@@ -0,0 +1,129 @@
+package com.example.demo.bench;
+
+import com.example.demo.domain.Enum_Post;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.entity.Entity_User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+// Deterministic in-memory fixtures shaped like production rows : no database, no Spring context
+final class BenchData {
+
+    private static final String[] WORDS = {
+            "spring", "query", "latency", "index", "cache", "thread", "reader", "author", "draft", "cursor",
+            "batch", "token", "stream", "schema", "feed", "category", "pool", "benchmark", "heap", "commit"
+    };
+
+    private BenchData() {
+    }
+
+    // Article-like HTML : paragraphs of ~60 words with some inline markup
+    static String html(int words, long seed) {
+        Random random = new Random(seed);
+        StringBuilder html = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i % 60 == 0) {
+                html.append(i == 0 ? "<p>" : "</p>\n<p>");
+            } else {
+                html.append(' ');
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            html.append(i % 25 == 7 ? "<strong>" + word + "</strong>" : word);
+        }
+        return html.append("</p>").toString();
+    }
+
+    // Prose-like HTML of about `chars` characters : a few thousand distinct words drawn with a skewed
+    // frequency, so it compresses about like real articles rather than like the 20-word html() text
+    static String prose(int chars, long seed) {
+        Random vocabularyRandom = new Random(11);
+        String[] syllables = {"ta", "re", "on", "in", "er", "st", "al", "ing", "ent", "ca", "de", "lo", "mi", "po", "ver", "th"};
+        String[] vocabulary = new String[3000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int s = 0, n = 1 + vocabularyRandom.nextInt(3); s < n; s++) {
+                word.append(syllables[vocabularyRandom.nextInt(syllables.length)]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        Random random = new Random(seed);
+        StringBuilder html = new StringBuilder(chars + 64).append("<p>");
+        for (int i = 0; html.length() < chars; i++) {
+            if (i > 0 && i % 80 == 0) {
+                html.append(".</p>\n<p>");
+            } else if (i > 0) {
+                html.append(i % 13 == 0 ? ". " : i % 7 == 0 ? ", " : " ");
+            }
+            double skew = random.nextDouble();
+            html.append(vocabulary[(int) (skew * skew * skew * vocabulary.length)]);
+        }
+        return html.append(".</p>").toString();
+    }
+
+    static List<Entity_Tags> tags(int count) {
+        List<Entity_Tags> tags = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tags.add(Entity_Tags.builder().id(new UUID(2, i)).name("tag-" + i).posts(new HashSet<>()).build());
+        }
+        return tags;
+    }
+
+    // Posts spread over a few authors and the given categories and tags, 5 tags each, a fifth of them drafts.
+    // Both sides of the associations are filled, as after a fetch join
+    static List<Entity_Post> posts(int count, int words, List<Entity_Category> categories, List<Entity_Tags> tags) {
+        Random random = new Random(42);
+        List<Entity_User> authors = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            authors.add(Entity_User.builder()
+                    .id(new UUID(1, i))
+                    .email("author" + i + "@test.com")
+                    .username("Author " + i)
+                    .posts(new ArrayList<>())
+                    .build());
+        }
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<Entity_Post> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String content = html(words, i);
+            Set<Entity_Tags> postTags = new HashSet<>();
+            while (postTags.size() < Math.min(5, tags.size())) {
+                postTags.add(tags.get(random.nextInt(tags.size())));
+            }
+            Entity_Post post = Entity_Post.builder()
+                    .id(new UUID(3, i))
+                    .title("Post number " + i + " about " + WORDS[i % WORDS.length])
+                    .content(content)
+                    .contentHtml(content)
+                    .excerpt(content.substring(3, Math.min(content.length(), 200)))
+                    .wordCount(words)
+                    .readingTime(Math.max(1, words / 200))
+                    .status(i % 5 == 0 ? Enum_Post.DRAFT : Enum_Post.PUBLISHED)
+                    .author(authors.get(i % authors.size()))
+                    .category(categories.get(i % categories.size()))
+                    .tags(postTags)
+                    .createdAt(created.plusHours(i))
+                    .updatedAt(created.plusHours(i))
+                    .build();
+            post.getCategory().getPosts().add(post);
+            postTags.forEach(tag -> tag.getPosts().add(post));
+            posts.add(post);
+        }
+        return posts;
+    }
+
+    static List<Entity_Category> categories(int count) {
+        List<Entity_Category> categories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            categories.add(Entity_Category.builder().id(new UUID(4, i)).name("Category " + i).posts(new ArrayList<>()).build());
+        }
+        return categories;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.bench;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// JMH's own launcher, writing JSON results to target/jmh-result.json unless -rf / -rff say otherwise,
+// so runs from two releases can be diffed directly
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.addAll(List.of("-rf", "json"));
+        }
+        if (!options.contains("-rff")) {
+            options.addAll(List.of("-rff", "target/jmh-result.json"));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
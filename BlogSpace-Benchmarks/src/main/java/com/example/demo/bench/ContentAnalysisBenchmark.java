@@ -0,0 +1,42 @@
+package com.example.demo.bench;
+
+import com.example.demo.service.ContentAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Save-time analysis of post content (word count, reading time, excerpt, hash, sanitized HTML),
+// which took over from the per-read reading-time calculation
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentAnalysisBenchmark {
+
+    @Param({"150", "20000"})
+    int words;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        content = BenchData.html(words, 7);
+    }
+
+    @Benchmark
+    public ContentAnalyzer.Analysis analyze() {
+        return ContentAnalyzer.analyze(content);
+    }
+}
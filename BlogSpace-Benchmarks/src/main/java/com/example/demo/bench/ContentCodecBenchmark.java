@@ -0,0 +1,51 @@
+package com.example.demo.bench;
+
+import com.example.demo.domain.converters.ContentCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Post content through the converter's codec : deflate on save, inflate on every read of the body
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentCodecBenchmark {
+
+    @Param({"2048", "8192", "32768"})
+    int size;
+
+    @Param({"1", "6"})
+    int level;
+
+    private String content;
+    private byte[] stored;
+
+    @Setup
+    public void setUp() {
+        content = BenchData.prose(size, 7);
+        stored = ContentCodec.compress(content, 0, level);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return ContentCodec.compress(content, 0, level);
+    }
+
+    @Benchmark
+    public String decode() {
+        return ContentCodec.decode("", stored);
+    }
+}
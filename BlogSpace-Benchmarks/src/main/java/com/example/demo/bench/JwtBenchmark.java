@@ -0,0 +1,77 @@
+package com.example.demo.bench;
+
+import com.example.demo.security.BlogPrincipal;
+import com.example.demo.security.PasswordHashing;
+import com.example.demo.security.TokenDenylist;
+import com.example.demo.service.Service_Auth_Impl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Token issue and validation as the request path runs them : claims-only principal, denylist check,
+// and either the verified-token cache (cacheSize > 0) or a full HMAC verification on every call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    int cacheSize;
+
+    private Service_Auth_Impl serviceAuth;
+    private UserDetails principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Validation never reaches the user table, the encoder or the revocation store
+        serviceAuth = new Service_Auth_Impl(null, null, null, new PasswordHashing(1, 1, 1, 1, 1, 2000),
+                new TokenDenylist(null, 1 << 20), new SimpleMeterRegistry());
+        set("SecretKey", "0123456789abcdef0123456789abcdef0123456789abcdef");
+        set("verifiedCacheSize", cacheSize);
+        Method init = ReflectionUtils.findMethod(Service_Auth_Impl.class, "initJwt");
+        ReflectionUtils.makeAccessible(init);
+        ReflectionUtils.invokeMethod(init, serviceAuth);
+
+        principal = new BlogPrincipal(UUID.randomUUID(), "reader@test.com", "Reader",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = serviceAuth.generateToken(principal);
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(Service_Auth_Impl.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, serviceAuth, value);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return serviceAuth.generateToken(principal);
+    }
+
+    @Benchmark
+    public UserDetails validateToken() {
+        return serviceAuth.validateToken(token);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.bench;
+
+import com.example.demo.domain.dtos.Dto_Category;
+import com.example.demo.domain.dtos.Dto_Posts;
+import com.example.demo.domain.dtos.Dto_Tag;
+import com.example.demo.domain.entity.Entity_Category;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.entity.Entity_Tags;
+import com.example.demo.domain.mappers.Category_Mapper;
+import com.example.demo.domain.mappers.Category_MapperImpl;
+import com.example.demo.domain.mappers.PostMapper;
+import com.example.demo.domain.mappers.PostMapperImpl;
+import com.example.demo.domain.mappers.TagMapper;
+import com.example.demo.domain.mappers.TagMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MapStruct mappers over entity graphs already in memory : the per-post DTO copy, and the in-Java
+// published-post counting of the category and tag mappers (the path GET /categories and /tags left for SQL counts)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    // Posts per category and per tag grow with it
+    @Param({"100", "1000"})
+    int posts;
+
+    private final PostMapper postMapper = new PostMapperImpl();
+    private final Category_Mapper categoryMapper = new Category_MapperImpl();
+    private final TagMapper tagMapper = new TagMapperImpl();
+
+    private List<Entity_Post> page;
+    private List<Entity_Category> categories;
+    private List<Entity_Tags> tags;
+
+    @Setup
+    public void setUp() {
+        categories = BenchData.categories(10);
+        tags = BenchData.tags(50);
+        List<Entity_Post> all = BenchData.posts(posts, 1200, categories, tags);
+        page = all.subList(0, 20);
+    }
+
+    // One feed page worth of full posts
+    @Benchmark
+    public void postToDto(Blackhole blackhole) {
+        for (Entity_Post post : page) {
+            Dto_Posts dto = postMapper.toDto(post);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void categoryPostCount(Blackhole blackhole) {
+        for (Entity_Category category : categories) {
+            Dto_Category dto = categoryMapper.toDto(category);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void tagPostCount(Blackhole blackhole) {
+        for (Entity_Tags tag : tags) {
+            Dto_Tag dto = tagMapper.toTagResponse(tag);
+            blackhole.consume(dto);
+        }
+    }
+}
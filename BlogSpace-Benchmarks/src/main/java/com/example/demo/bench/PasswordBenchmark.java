@@ -0,0 +1,66 @@
+package com.example.demo.bench;
+
+import com.example.demo.config.SecurityChain;
+import com.example.demo.security.PasswordHashing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Login cost : one hash check with the production encoder. matches() on one thread gives the
+// per-core rate (1 / time); pooledLogin drives the bounded PasswordHashing pool from more callers
+// than cores, which is the ceiling on logins per second for the instance.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PasswordBenchmark {
+
+    @Param({"10"})
+    int bcryptStrength;
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordHashing passwordHashing;
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new SecurityChain().passwordEncoder("bcrypt", bcryptStrength);
+        passwordHashing = new PasswordHashing(0, 1024, 4, 2, 1, 60_000);
+        stored = passwordEncoder.encode("password");
+    }
+
+    // Each benchmark thread is its own client and account, as distinct users logging in
+    @State(Scope.Thread)
+    public static class Caller {
+        private static final AtomicInteger NEXT = new AtomicInteger();
+        final int id = NEXT.incrementAndGet();
+        final String client = "10.0.0." + id;
+        final String account = "user" + id + "@test.com";
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password", stored);
+    }
+
+    @Benchmark
+    @Threads(32)
+    public boolean pooledLogin(Caller caller) {
+        return passwordHashing.run(caller.client, caller.account, () -> passwordEncoder.matches("password", stored));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.bench;
+
+import com.example.demo.domain.dtos.Dto_Posts;
+import com.example.demo.domain.entity.Entity_Post;
+import com.example.demo.domain.mappers.PostMapper;
+import com.example.demo.domain.mappers.PostMapperImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Jackson writing a list of full posts, configured as Spring Boot configures the application's mapper
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"20", "100"})
+    int size;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private List<Dto_Posts> posts;
+
+    @Setup
+    public void setUp() {
+        PostMapper postMapper = new PostMapperImpl();
+        List<Entity_Post> entities = BenchData.posts(size, 1200, BenchData.categories(5), BenchData.tags(30));
+        posts = entities.stream().map(postMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public byte[] writePosts() throws Exception {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+}